@@ -0,0 +1,108 @@
+package pt.iade.ei.thinktoilet.caches;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+import pt.iade.ei.thinktoilet.models.entities.*;
+import pt.iade.ei.thinktoilet.repositories.*;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Component
+@DependsOnDatabaseInitialization
+public class ReferenceDataCache {
+    private final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+    @Autowired
+    private StateRepository stateRepository;
+    @Autowired
+    private AccessRepository accessRepository;
+    @Autowired
+    private TypeExtraRepository typeExtraRepository;
+    @Autowired
+    private TypeReactionRepository typeReactionRepository;
+    @Autowired
+    private TypeReportRepository typeReportRepository;
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(
+            Map<String, State> states,
+            Map<String, TypeReaction> typeReactions,
+            Map<String, TypeReport> typeReports,
+            Map<Integer, String> accessNames,
+            Map<String, String> typeExtraNames,
+            Map<Integer, String> typeReactionNames
+    ) {
+    }
+
+    @PostConstruct
+    public void reload() {
+        Snapshot loaded = new Snapshot(
+                byTechnicalName(stateRepository.findAll(), State::getTechnicalName),
+                byTechnicalName(typeReactionRepository.findAll(), TypeReaction::getTechnicalName),
+                byTechnicalName(typeReportRepository.findAll(), TypeReport::getTechnicalName),
+                normalizedNames(accessRepository.findAll(), Access::getId, Access::getTechnicalName),
+                normalizedNames(typeExtraRepository.findAll(), TypeExtra::getTechnicalName, TypeExtra::getTechnicalName),
+                normalizedNames(typeReactionRepository.findAll(), TypeReaction::getId, TypeReaction::getTechnicalName)
+        );
+        snapshot = loaded;
+        logger.info("Reference data loaded with {} states, {} accesses, {} extras, {} reaction types and {} report types",
+                loaded.states().size(), loaded.accessNames().size(), loaded.typeExtraNames().size(),
+                loaded.typeReactions().size(), loaded.typeReports().size());
+    }
+
+    public State getState(String technicalName) {
+        return snapshot.states().get(technicalName);
+    }
+
+    public TypeReaction getTypeReaction(String technicalName) {
+        return snapshot.typeReactions().get(technicalName);
+    }
+
+    public TypeReport getTypeReport(String technicalName) {
+        return snapshot.typeReports().get(technicalName);
+    }
+
+    public Map<Integer, String> getAccessNames() {
+        return snapshot.accessNames();
+    }
+
+    public String getAccessName(Access access) {
+        return getAccessName(access.getId(), access.getTechnicalName());
+    }
+
+    public String getAccessName(int accessId, String technicalName) {
+        String name = snapshot.accessNames().get(accessId);
+        return name != null ? name : normalize(technicalName);
+    }
+
+    public String getTypeExtraName(String technicalName) {
+        String name = snapshot.typeExtraNames().get(technicalName);
+        return name != null ? name : normalize(technicalName);
+    }
+
+    public String getTypeReactionName(TypeReaction typeReaction) {
+        String name = snapshot.typeReactionNames().get(typeReaction.getId());
+        return name != null ? name : normalize(typeReaction.getTechnicalName());
+    }
+
+    private static String normalize(String technicalName) {
+        return technicalName.toUpperCase().replace("-", "_");
+    }
+
+    private static <T> Map<String, T> byTechnicalName(Iterable<T> rows, Function<T, String> technicalName) {
+        return StreamSupport.stream(rows.spliterator(), false)
+                .collect(Collectors.toUnmodifiableMap(technicalName, Function.identity()));
+    }
+
+    private static <T, K> Map<K, String> normalizedNames(Iterable<T> rows, Function<T, K> id, Function<T, String> technicalName) {
+        return StreamSupport.stream(rows.spliterator(), false)
+                .collect(Collectors.toUnmodifiableMap(id, row -> normalize(technicalName.apply(row))));
+    }
+}
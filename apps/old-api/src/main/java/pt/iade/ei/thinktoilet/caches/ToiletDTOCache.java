@@ -0,0 +1,75 @@
+package pt.iade.ei.thinktoilet.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pt.iade.ei.thinktoilet.models.dtos.ToiletDTO;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ToiletDTOCache {
+    private final Cache<Integer, ToiletDTO> cache;
+
+    public ToiletDTOCache(
+            MeterRegistry meterRegistry,
+            @Value("${thinktoilet.toilet-cache.maximum-size:10000}") long maximumSize,
+            @Value("${thinktoilet.toilet-cache.expire-after-write:PT10M}") Duration expireAfterWrite
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "toilets");
+    }
+
+    public ToiletDTO get(int id) {
+        return cache.getIfPresent(id);
+    }
+
+    public Map<Integer, ToiletDTO> getAll(Collection<Integer> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    public void put(ToiletDTO toilet) {
+        cache.put(toilet.getId(), toilet.withDistance(null));
+    }
+
+    public void putAll(Collection<ToiletDTO> toilets) {
+        toilets.forEach(this::put);
+    }
+
+    public void evict(int id) {
+        evict(List.of(id));
+    }
+
+    public void evict(Collection<Integer> ids) {
+        cache.invalidateAll(ids);
+        afterCommit(() -> cache.invalidateAll(ids));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        afterCommit(cache::invalidateAll);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
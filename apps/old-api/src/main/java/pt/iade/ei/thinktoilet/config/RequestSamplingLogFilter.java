@@ -0,0 +1,53 @@
+package pt.iade.ei.thinktoilet.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+@Component
+@ConditionalOnProperty("thinktoilet.request-log.sample-rate")
+public class RequestSamplingLogFilter extends OncePerRequestFilter {
+    private static final Pattern API_KEY_PARAMETER = Pattern.compile("(^|&)API_KEY=[^&]*");
+
+    private final Logger requestLogger = LoggerFactory.getLogger(RequestSamplingLogFilter.class);
+    private final double sampleRate;
+
+    public RequestSamplingLogFilter(@Value("${thinktoilet.request-log.sample-rate}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            requestLogger.info("{} {}{} -> {} in {} ms", request.getMethod(), request.getRequestURI(), queryString(request),
+                    response.getStatus(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static String queryString(HttpServletRequest request) {
+        if (request.getQueryString() == null) {
+            return "";
+        }
+        String query = API_KEY_PARAMETER.matcher(request.getQueryString()).replaceAll("").replaceFirst("^&", "");
+        return query.isEmpty() ? "" : "?" + query;
+    }
+}
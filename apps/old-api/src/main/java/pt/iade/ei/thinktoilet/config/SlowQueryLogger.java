@@ -0,0 +1,32 @@
+package pt.iade.ei.thinktoilet.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+public class SlowQueryLogger implements QueryExecutionListener {
+    private final Logger logger = LoggerFactory.getLogger(SlowQueryLogger.class);
+    private final DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+    private final long thresholdMillis;
+
+    public SlowQueryLogger(Duration threshold) {
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() >= thresholdMillis && logger.isWarnEnabled()) {
+            logger.warn("Slow query: {}", logEntryCreator.getLogEntry(execInfo, queryInfoList, true, false, false));
+        }
+    }
+}
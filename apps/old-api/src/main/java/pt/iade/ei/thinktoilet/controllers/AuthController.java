@@ -15,6 +15,8 @@ import pt.iade.ei.thinktoilet.models.dtos.UserDTO;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
 import pt.iade.ei.thinktoilet.services.AuthService;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(path = "/api/auth")
 public class AuthController {
@@ -23,7 +25,7 @@ public class AuthController {
     private AuthService authService;
 
     @PostMapping(path = "/login", produces = MediaType.APPLICATION_JSON_VALUE)
-    public UserDTO login(
+    public CompletableFuture<UserDTO> login(
             @RequestBody LoginRequest request
     ) {
         logger.info("Logging in user with email {}", request.getEmail());
@@ -31,7 +33,7 @@ public class AuthController {
     }
 
     @PostMapping(path = "/register", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse> register(
+    public CompletableFuture<ResponseEntity<ApiResponse>> register(
             @RequestBody RegisterRequest request
     ) {
         logger.info("Registering user {}", request.getName());
@@ -11,6 +11,7 @@ import pt.iade.ei.thinktoilet.models.dtos.ReactionDTO;
 import pt.iade.ei.thinktoilet.models.requests.CommentRequest;
 import pt.iade.ei.thinktoilet.models.requests.ReactionRequest;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.models.response.CursorResponse;
 import pt.iade.ei.thinktoilet.services.CommentService;
 import pt.iade.ei.thinktoilet.services.ReactionService;
 
@@ -46,6 +47,22 @@ public class CommentController {
         return commentService.findCommentsByToiletId(id);
     }
 
+    @GetMapping(path = "/toilets/{id}", params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CursorResponse<CommentDTO> getCommentsByToiletIdByCursor(
+            @PathVariable int id,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(defaultValue = "20", required = false) int size
+    ) {
+        if (userId != null) {
+            logger.info("Sending comments for toilet with id {} and user with id {} after cursor {}", id, userId, cursor);
+            return commentService.findCommentsByToiletIdForUserIdByCursor(id, userId, cursor, size);
+        }
+
+        logger.info("Sending comments for toilet with id {} after cursor {}", id, cursor);
+        return commentService.findCommentsByToiletIdByCursor(id, cursor, size);
+    }
+
     @GetMapping(path = "/users/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public List<CommentDTO> getCommentsByUserId(
             @PathVariable int id,
@@ -59,6 +76,16 @@ public class CommentController {
         return commentService.findCommentsByUserId(id);
     }
 
+    @GetMapping(path = "/users/{id}", params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CursorResponse<CommentDTO> getCommentsByUserIdByCursor(
+            @PathVariable int id,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20", required = false) int size
+    ) {
+        logger.info("Sending comments for user with id {} after cursor {}", id, cursor);
+        return commentService.findCommentsByUserIdByCursor(id, cursor, size);
+    }
+
     @GetMapping(path = "/reactions", produces = MediaType.APPLICATION_JSON_VALUE)
     public List<ReactionDTO> getReactionsByUserId(
             @RequestParam int userId,
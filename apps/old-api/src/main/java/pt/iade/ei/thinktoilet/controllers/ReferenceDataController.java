@@ -0,0 +1,26 @@
+package pt.iade.ei.thinktoilet.controllers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.services.ReferenceDataService;
+
+@RestController
+@RequestMapping(path = "/api/reference-data")
+public class ReferenceDataController {
+    private final Logger logger = LoggerFactory.getLogger(ReferenceDataController.class);
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @PostMapping(path = "/reload", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> reload() {
+        logger.info("Reloading reference data");
+        return referenceDataService.reload();
+    }
+}
@@ -7,14 +7,24 @@ import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pt.iade.ei.thinktoilet.exceptions.NotFoundException;
 import pt.iade.ei.thinktoilet.models.dtos.ToiletDTO;
+import pt.iade.ei.thinktoilet.models.filters.ToiletFilter;
+import pt.iade.ei.thinktoilet.models.projections.ToiletMarker;
+import pt.iade.ei.thinktoilet.models.projections.ToiletVersion;
 import pt.iade.ei.thinktoilet.models.requests.ReportRequest;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.models.response.CursorResponse;
+import pt.iade.ei.thinktoilet.models.response.TileResponse;
+import pt.iade.ei.thinktoilet.models.response.ToiletMarkersResponse;
 import pt.iade.ei.thinktoilet.models.views.SearchToilet;
 import pt.iade.ei.thinktoilet.services.ReportService;
 import pt.iade.ei.thinktoilet.services.ToiletService;
+import pt.iade.ei.thinktoilet.services.ToiletStatsService;
+import pt.iade.ei.thinktoilet.utils.ETags;
 
 import java.util.List;
 
@@ -26,49 +36,83 @@ public class ToiletController {
     private ToiletService toiletService;
     @Autowired
     private ReportService reportService;
+    @Autowired
+    private ToiletStatsService toiletStatsService;
 
     @GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<ToiletDTO> getToilets(
+    public ResponseEntity<StreamingResponseBody> getToilets(
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) Integer userId
+    ) {
+        logger.info("Streaming toilets with state {} and user id {}", state, userId);
+        ToiletFilter filter = toiletService.createFilter(state, userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> toiletService.writeToilets(filter, outputStream));
+    }
+
+    @GetMapping(path = "", params = {"ids", "!cursor"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ToiletDTO> getToiletsByIds(
+            @RequestParam List<Integer> ids
+    ) {
+        logger.info("Sending toilets with ids {}", ids);
+        return toiletService.findToiletsByIds(ids);
+    }
+
+    @GetMapping(path = "", params = {"pageable=true", "!ids"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ToiletDTO> getToiletsPage(
             @RequestParam(required = false) String state,
             @RequestParam(required = false) Integer userId,
-            @RequestParam(required = false) List<Integer> ids,
-            @RequestParam(defaultValue = "false", required = false) boolean pageable,
             @RequestParam(defaultValue = "0", required = false) int page,
             @RequestParam(defaultValue = "20", required = false) int size
     ) {
-        if (ids != null) {
-            logger.info("Sending toilets with ids {}", ids);
-            return toiletService.findToiletsByIds(ids);
-        }
-
         logger.info("Sending toilets with state {} and user id {}", state, userId);
-        if (pageable)
-            return toiletService.findToilets(state, userId, page, size);
-        return toiletService.findToilets(state, userId);
+        return toiletService.findToilets(state, userId, page, size);
+    }
+
+    @GetMapping(path = "", params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CursorResponse<ToiletDTO> getToiletsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(defaultValue = "20", required = false) int size
+    ) {
+        logger.info("Sending toilets after cursor {} with state {} and user id {}", cursor, state, userId);
+        return toiletService.findToiletsByCursor(state, userId, cursor, size);
     }
 
     @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ToiletDTO getToiletById(
-            @PathVariable int id
+    public ResponseEntity<ToiletDTO> getToiletById(
+            @PathVariable int id,
+            WebRequest request
     ) {
         logger.info("Sending toilet with id {}", id);
-        return toiletService.findToiletById(id);
+        String eTag = ETags.of(toiletService.findToiletVersionById(id));
+        if (request.checkNotModified(eTag))
+            return null;
+        return ResponseEntity.ok().eTag(eTag).body(toiletService.findToiletById(id));
     }
 
     @GetMapping(path = "/nearby", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<ToiletDTO> getToiletsNearby(
+    public ResponseEntity<List<ToiletDTO>> getToiletsNearby(
             @RequestParam double lon,
             @RequestParam double lat,
+            @RequestParam(required = false) Double radiusKm,
             @RequestParam(required = false) String state,
             @RequestParam(required = false) Integer userId,
             @RequestParam(defaultValue = "false", required = false) boolean pageable,
             @RequestParam(defaultValue = "0", required = false) int page,
-            @RequestParam(defaultValue = "20", required = false) int size
+            @RequestParam(defaultValue = "20", required = false) int size,
+            WebRequest request
     ) {
-        logger.info("Sending toilets nearby with state {} and user id {}", state, userId);
-        if (pageable)
-            return toiletService.findToiletsNearby(state, lat, lon, userId, page, size);
-        return toiletService.findToiletsNearby(state, lat, lon, userId);
+        logger.info("Sending toilets nearby with state {}, radius {} km and user id {}", state, radiusKm, userId);
+        List<ToiletVersion> toilets = pageable
+                ? toiletService.findToiletVersionsNearby(state, lat, lon, radiusKm, userId, page, size)
+                : toiletService.findToiletVersionsNearby(state, lat, lon, radiusKm, userId);
+        String eTag = ETags.of(toilets, lat, lon);
+        if (request.checkNotModified(eTag))
+            return null;
+        return ResponseEntity.ok().eTag(eTag).body(toiletService.findToiletsNearby(toilets, lat, lon));
     }
 
     @GetMapping(path = "/users/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -102,6 +146,12 @@ public class ToiletController {
         return reportService.removeReport(toiletId, userId);
     }
 
+    @PostMapping(path = "/stats/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> rebuildToiletStats() {
+        logger.info("Rebuilding toilet stats");
+        return toiletStatsService.rebuild();
+    }
+
     @GetMapping(path = "/search/{query}", produces = MediaType.APPLICATION_JSON_VALUE)
     public List<SearchToilet> searchToilets(
             @PathVariable String query,
@@ -115,15 +165,46 @@ public class ToiletController {
         return toiletService.searchToilets(query);
     }
 
-    @GetMapping(path = "/bounding", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<ToiletDTO> getToiletsByBoundingBox(
+    @GetMapping(path = "/bounding", params = "markers!=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ToiletDTO>> getToiletsByBoundingBox(
             @RequestParam double minLat,
             @RequestParam double maxLat,
             @RequestParam double minLon,
-            @RequestParam double maxLon
+            @RequestParam double maxLon,
+            WebRequest request
     ) {
         logger.info("Sending toilets by bounding box with min lat {}, max lat {}, min lon {} and max lon {}", minLat, maxLat, minLon, maxLon);
-        return toiletService.findToiletsByBoundingBox(minLat, maxLat, minLon, maxLon);
+        List<ToiletVersion> toilets = toiletService.findToiletVersionsByBoundingBox(minLat, maxLat, minLon, maxLon);
+        String eTag = ETags.of(toilets);
+        if (request.checkNotModified(eTag))
+            return null;
+        return ResponseEntity.ok().eTag(eTag).body(toiletService.findToilets(toilets));
+    }
+
+    @GetMapping(path = "/bounding", params = "markers=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ToiletMarkersResponse> getToiletMarkersByBoundingBox(
+            @RequestParam double minLat,
+            @RequestParam double maxLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLon,
+            WebRequest request
+    ) {
+        logger.info("Sending toilet markers by bounding box with min lat {}, max lat {}, min lon {} and max lon {}", minLat, maxLat, minLon, maxLon);
+        List<ToiletMarker> markers = toiletService.findToiletMarkersByBoundingBox(minLat, maxLat, minLon, maxLon);
+        String eTag = ETags.ofMarkers(markers);
+        if (request.checkNotModified(eTag))
+            return null;
+        return ResponseEntity.ok().eTag(eTag).body(toiletService.mapToiletMarkers(markers));
+    }
+
+    @GetMapping(path = "/tiles/{z}/{x}/{y}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public TileResponse getToiletTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y
+    ) {
+        logger.info("Sending toilet tile {}/{}/{}", z, x, y);
+        return toiletService.findTile(z, x, y);
     }
 
     @PostMapping(path = "{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
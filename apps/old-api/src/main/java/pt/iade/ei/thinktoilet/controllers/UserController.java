@@ -8,9 +8,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pt.iade.ei.thinktoilet.models.dtos.UserDTO;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.models.response.CursorResponse;
+import pt.iade.ei.thinktoilet.services.AuthService;
 import pt.iade.ei.thinktoilet.services.UserService;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(path = "/api/users")
@@ -18,6 +21,8 @@ public class UserController {
     private final Logger logger = LoggerFactory.getLogger(UserController.class);
     @Autowired
     private UserService userService;
+    @Autowired
+    private AuthService authService;
 
     @GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public List<UserDTO> getUsers(
@@ -29,6 +34,15 @@ public class UserController {
         return userService.findAllUsers();
     }
 
+    @GetMapping(path = "", params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CursorResponse<UserDTO> getUsersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20", required = false) int size
+    ) {
+        logger.info("Sending users after cursor {}", cursor);
+        return userService.findUsersByCursor(cursor, size);
+    }
+
     @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public UserDTO getUser(
             @PathVariable int id
@@ -38,33 +52,33 @@ public class UserController {
     }
 
     @PostMapping(path = "/{id}/edit/name", produces = MediaType.APPLICATION_JSON_VALUE)
-    public UserDTO editName(
+    public CompletableFuture<UserDTO> editName(
             @PathVariable int id,
             @RequestParam String name,
             @RequestParam String password
     ) {
         logger.info("Editing name of user with id {}", id);
-        return userService.editName(id, name, password);
+        return authService.editName(id, name, password);
     }
 
     @PostMapping(path = "/{id}/edit/email", produces = MediaType.APPLICATION_JSON_VALUE)
-    public UserDTO editEmail(
+    public CompletableFuture<UserDTO> editEmail(
             @PathVariable int id,
             @RequestParam String email,
             @RequestParam String password
     ) {
         logger.info("Editing email of user with id {}", id);
-        return userService.editEmail(id, email, password);
+        return authService.editEmail(id, email, password);
     }
 
     @PostMapping(path = "/{id}/edit/password", produces = MediaType.APPLICATION_JSON_VALUE)
-    public UserDTO editPassword(
+    public CompletableFuture<UserDTO> editPassword(
             @PathVariable int id,
             @RequestParam String newPassword,
             @RequestParam String password
     ) {
         logger.info("Editing password of user with id {}", id);
-        return userService.editPassword(id, newPassword, password);
+        return authService.editPassword(id, newPassword, password);
     }
 
     @PostMapping(path = "/{id}/edit/icon", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -0,0 +1,11 @@
+package pt.iade.ei.thinktoilet.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException() {
+        super("Too many requests, try again later.");
+    }
+}
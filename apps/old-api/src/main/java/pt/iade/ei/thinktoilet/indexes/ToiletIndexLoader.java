@@ -0,0 +1,119 @@
+package pt.iade.ei.thinktoilet.indexes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pt.iade.ei.thinktoilet.models.projections.ToiletLocation;
+import pt.iade.ei.thinktoilet.models.projections.ToiletSearchEntry;
+import pt.iade.ei.thinktoilet.repositories.ToiletRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class ToiletIndexLoader {
+    private final Logger logger = LoggerFactory.getLogger(ToiletIndexLoader.class);
+    @Autowired
+    private ToiletRepository toiletRepository;
+    @Autowired
+    private ToiletSpatialIndex toiletSpatialIndex;
+    @Autowired
+    private ToiletSearchIndex toiletSearchIndex;
+    @Value("${thinktoilet.spatial-index.enabled:true}")
+    private boolean enabled;
+    @Value("${thinktoilet.search-index.enabled:true}")
+    private boolean searchEnabled;
+
+    private static final String SEARCH_STATE = "active";
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${thinktoilet.spatial-index.refresh-interval:PT5M}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<ToiletSpatialIndex.Entry> entries = toiletRepository.findToiletLocations().stream()
+                    .map(location -> new ToiletSpatialIndex.Entry(location.id(), location.latitude(), location.longitude(), location.state()))
+                    .toList();
+            toiletSpatialIndex.refresh(entries);
+            logger.info("Spatial index refreshed with {} toilets", toiletSpatialIndex.size());
+        } catch (Exception e) {
+            logger.error("Could not refresh spatial index", e);
+        }
+    }
+
+    public void reindex(Collection<Integer> ids) {
+        if ((!enabled && !searchEnabled) || ids.isEmpty()) {
+            return;
+        }
+        List<Integer> toiletIds = List.copyOf(ids);
+        afterCommit(() -> {
+            try {
+                reindexLocations(toiletIds);
+                reindexSearchEntries(toiletIds);
+            } catch (Exception e) {
+                logger.error("Could not reindex toilets {}, the next refresh will reconcile them", toiletIds, e);
+            }
+        });
+    }
+
+    private void reindexLocations(List<Integer> ids) {
+        if (!enabled || !toiletSpatialIndex.isReady()) {
+            return;
+        }
+        Set<Integer> missing = new HashSet<>(ids);
+        for (ToiletLocation location : toiletRepository.findToiletLocationsByIds(ids)) {
+            missing.remove(location.id());
+            toiletSpatialIndex.put(new ToiletSpatialIndex.Entry(location.id(), location.latitude(), location.longitude(), location.state()));
+        }
+        missing.forEach(toiletSpatialIndex::remove);
+    }
+
+    private void reindexSearchEntries(List<Integer> ids) {
+        if (!searchEnabled || !toiletSearchIndex.isReady()) {
+            return;
+        }
+        Set<Integer> missing = new HashSet<>(ids);
+        for (ToiletSearchEntry entry : toiletRepository.findToiletSearchEntriesByIds(SEARCH_STATE, ids)) {
+            missing.remove(entry.id());
+            toiletSearchIndex.put(new ToiletSearchIndex.Entry(entry.id(), entry.name(), entry.address()));
+        }
+        missing.forEach(toiletSearchIndex::remove);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${thinktoilet.search-index.refresh-interval:PT5M}")
+    public void refreshSearch() {
+        if (!searchEnabled) {
+            return;
+        }
+        try {
+            List<ToiletSearchIndex.Entry> entries = toiletRepository.findToiletSearchEntries(SEARCH_STATE).stream()
+                    .map(entry -> new ToiletSearchIndex.Entry(entry.id(), entry.name(), entry.address()))
+                    .toList();
+            toiletSearchIndex.refresh(entries);
+            logger.info("Search index refreshed with {} toilets", toiletSearchIndex.size());
+        } catch (Exception e) {
+            logger.error("Could not refresh search index", e);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package pt.iade.ei.thinktoilet.indexes;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Component
+public class ToiletSearchIndex {
+    private static final int GRAM_SIZE = 3;
+    private static final String GRAM_PADDING = "$".repeat(GRAM_SIZE - 1);
+    private static final int NAME = 1;
+    private static final int ADDRESS = 2;
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double ADDRESS_WEIGHT = 0.5;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparingInt(match -> match.entry().name().length())
+            .thenComparingInt(match -> match.entry().id());
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Postings> tokens = new HashMap<>();
+    private final Map<String, Set<String>> grams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public record Entry(int id, String name, String address) {
+    }
+
+    public record Match(Entry entry, double score) {
+    }
+
+    private record TokenMatch(String token, double score) {
+    }
+
+    private static final class Postings {
+        private int[] values = new int[2];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(entry.id(), entry);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void refresh(Collection<Entry> snapshot) {
+        Set<Integer> ids = new HashSet<>();
+        for (Entry entry : snapshot) {
+            ids.add(entry.id());
+            if (!entry.equals(entries.get(entry.id()))) {
+                put(entry);
+            }
+        }
+        entries.keySet().stream()
+                .filter(id -> !ids.contains(id))
+                .toList()
+                .forEach(this::remove);
+        ready = true;
+    }
+
+    public List<Match> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query).stream()
+                .distinct()
+                .limit(MAX_QUERY_TOKENS)
+                .toList();
+        if (limit <= 0 || queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(RANKING.reversed());
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String queryToken : queryTokens) {
+                Map<Integer, Double> tokenScores = new HashMap<>();
+                for (TokenMatch match : matchTokens(queryToken)) {
+                    Postings postings = tokens.get(match.token());
+                    for (int i = 0; i < postings.size; i++) {
+                        int value = postings.values[i];
+                        double weight = (value & NAME) != 0 ? NAME_WEIGHT : ADDRESS_WEIGHT;
+                        tokenScores.merge(value >>> 2, match.score() * weight, Math::max);
+                    }
+                }
+                tokenScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+            scores.forEach((id, score) -> {
+                Match match = new Match(entries.get(id), score);
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (RANKING.compare(match, best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches;
+    }
+
+    private List<TokenMatch> matchTokens(String queryToken) {
+        int maxEdits = maxEdits(queryToken.length());
+        Set<String> queryGrams = grams(queryToken);
+        int minShared = Math.max(1, queryGrams.size() - (GRAM_SIZE + 1) * maxEdits);
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<String> candidates = grams.get(gram);
+            if (candidates != null) {
+                candidates.forEach(candidate -> shared.merge(candidate, 1, Integer::sum));
+            }
+        }
+
+        List<TokenMatch> matches = new ArrayList<>();
+        shared.forEach((token, count) -> {
+            if (count >= minShared) {
+                double score = score(queryToken, token, maxEdits);
+                if (score > 0) {
+                    matches.add(new TokenMatch(token, score));
+                }
+            }
+        });
+        return matches;
+    }
+
+    private void index(Entry entry) {
+        tokenFields(entry).forEach((token, fields) -> tokens.computeIfAbsent(token, key -> {
+            grams(key).forEach(gram -> grams.computeIfAbsent(gram, g -> new HashSet<>()).add(key));
+            return new Postings();
+        }).add(entry.id() << 2 | fields));
+    }
+
+    private void unindex(Entry entry) {
+        tokenFields(entry).forEach((token, fields) -> {
+            Postings postings = tokens.get(token);
+            if (postings == null) {
+                return;
+            }
+            postings.remove(entry.id() << 2 | fields);
+            if (postings.size == 0) {
+                tokens.remove(token);
+                for (String gram : grams(token)) {
+                    Set<String> gramTokens = grams.get(gram);
+                    gramTokens.remove(token);
+                    if (gramTokens.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        });
+    }
+
+    private static Map<String, Integer> tokenFields(Entry entry) {
+        Map<String, Integer> fields = new HashMap<>();
+        tokenize(entry.name()).forEach(token -> fields.merge(token, NAME, (current, added) -> current | added));
+        tokenize(entry.address()).forEach(token -> fields.merge(token, ADDRESS, (current, added) -> current | added));
+        return fields;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(normalized)
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static Set<String> grams(String token) {
+        String padded = GRAM_PADDING + token;
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= padded.length(); i++) {
+            result.add(padded.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    private static int maxEdits(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : 2;
+    }
+
+    private static double score(String queryToken, String token, int maxEdits) {
+        if (token.equals(queryToken)) {
+            return 1.0;
+        }
+        if (token.startsWith(queryToken)) {
+            return 0.5 + 0.4 * queryToken.length() / token.length();
+        }
+        if (maxEdits == 0) {
+            return 0;
+        }
+
+        int[] distances = prefixDistances(queryToken, token);
+        int distance = distances[token.length()];
+        if (distance <= maxEdits) {
+            return 0.7 - 0.15 * distance;
+        }
+        int prefixDistance = Arrays.stream(distances).min().orElse(distance);
+        if (prefixDistance <= maxEdits) {
+            return 0.4 - 0.1 * prefixDistance;
+        }
+        return 0;
+    }
+
+    private static int[] prefixDistances(String query, String token) {
+        int length = token.length();
+        int[] beforePrevious = new int[length + 1];
+        int[] previous = new int[length + 1];
+        int[] current = new int[length + 1];
+        for (int j = 0; j <= length; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= length; j++) {
+                int cost = query.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && query.charAt(i - 1) == token.charAt(j - 2) && query.charAt(i - 2) == token.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,333 @@
+package pt.iade.ei.thinktoilet.indexes;
+
+import org.springframework.stereotype.Component;
+import pt.iade.ei.thinktoilet.utils.BoundingBox;
+import pt.iade.ei.thinktoilet.utils.GeoUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+@Component
+public class ToiletSpatialIndex {
+    private static final double CELL_SIZE = 0.05;
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_SIZE);
+    private static final int LON_CELLS = (int) Math.ceil(360 / CELL_SIZE);
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public record Entry(int id, double latitude, double longitude, String state) {
+    }
+
+    public record Neighbour(Entry entry, double distance) {
+    }
+
+    public record Cluster(int count, double latitude, double longitude, int representativeId) {
+    }
+
+    private record Summary(int count, double latitudeSum, double longitudeSum, int representativeId) {
+    }
+
+    private static final class Cell {
+        private final Set<Entry> entries = ConcurrentHashMap.newKeySet();
+        private final Map<String, Summary> summaries = new ConcurrentHashMap<>();
+
+        private void add(Entry entry) {
+            entries.add(entry);
+            summaries.merge(entry.state(), new Summary(1, entry.latitude(), entry.longitude(), entry.id()),
+                    (current, added) -> new Summary(current.count() + 1,
+                            current.latitudeSum() + added.latitudeSum(),
+                            current.longitudeSum() + added.longitudeSum(),
+                            current.representativeId()));
+        }
+
+        private void remove(Entry entry) {
+            entries.remove(entry);
+            summaries.computeIfPresent(entry.state(), (state, current) -> {
+                if (current.count() <= 1) {
+                    return null;
+                }
+                int representativeId = current.representativeId() != entry.id()
+                        ? current.representativeId()
+                        : entries.stream()
+                        .filter(other -> state.equals(other.state()))
+                        .findFirst()
+                        .map(Entry::id)
+                        .orElse(current.representativeId());
+                return new Summary(current.count() - 1,
+                        current.latitudeSum() - entry.latitude(),
+                        current.longitudeSum() - entry.longitude(),
+                        representativeId);
+            });
+        }
+    }
+
+    private static final class ClusterGrid {
+        private final BoundingBox box;
+        private final int columns;
+        private final int rows;
+        private final double binLat;
+        private final double binLon;
+        private final int[] counts;
+        private final double[] latitudeSums;
+        private final double[] longitudeSums;
+        private final int[] representativeIds;
+        private final int[] representativeWeights;
+
+        private ClusterGrid(BoundingBox box, int columns, int rows) {
+            this.box = box;
+            this.columns = columns;
+            this.rows = rows;
+            this.binLat = (box.maxLat() - box.minLat()) / rows;
+            this.binLon = (box.maxLon() - box.minLon()) / columns;
+            this.counts = new int[columns * rows];
+            this.latitudeSums = new double[columns * rows];
+            this.longitudeSums = new double[columns * rows];
+            this.representativeIds = new int[columns * rows];
+            this.representativeWeights = new int[columns * rows];
+        }
+
+        private void add(int count, double latitudeSum, double longitudeSum, int representativeId) {
+            double lat = latitudeSum / count;
+            double lon = longitudeSum / count;
+            if (!box.contains(lat, lon)) {
+                return;
+            }
+            int row = Math.min(rows - 1, (int) ((lat - box.minLat()) / binLat));
+            int column = Math.min(columns - 1, (int) ((lon - box.minLon()) / binLon));
+            int bin = row * columns + column;
+            counts[bin] += count;
+            latitudeSums[bin] += latitudeSum;
+            longitudeSums[bin] += longitudeSum;
+            if (count > representativeWeights[bin]
+                    || (count == representativeWeights[bin] && representativeId < representativeIds[bin])) {
+                representativeIds[bin] = representativeId;
+                representativeWeights[bin] = count;
+            }
+        }
+
+        private List<Cluster> clusters() {
+            List<Cluster> clusters = new ArrayList<>();
+            for (int bin = 0; bin < counts.length; bin++) {
+                if (counts[bin] > 0) {
+                    clusters.add(new Cluster(counts[bin], latitudeSums[bin] / counts[bin], longitudeSums[bin] / counts[bin], representativeIds[bin]));
+                }
+            }
+            return clusters;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void put(Entry entry) {
+        Entry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.compute(cellKey(latIndex(entry.latitude()), lonIndex(entry.longitude())), (key, cell) -> {
+            Cell target = cell != null ? cell : new Cell();
+            target.add(entry);
+            return target;
+        });
+    }
+
+    public void remove(int id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public void refresh(Collection<Entry> snapshot) {
+        Set<Integer> ids = new HashSet<>();
+        for (Entry entry : snapshot) {
+            ids.add(entry.id());
+            if (!entry.equals(entries.get(entry.id()))) {
+                put(entry);
+            }
+        }
+        entries.keySet().stream()
+                .filter(id -> !ids.contains(id))
+                .toList()
+                .forEach(this::remove);
+        ready = true;
+    }
+
+    public List<Neighbour> findNearest(double lat, double lon, int limit, Predicate<Entry> filter) {
+        if (limit <= 0 || entries.isEmpty()) {
+            return List.of();
+        }
+        if (limit >= entries.size()) {
+            return scan(lat, lon, limit, filter);
+        }
+
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::distance).reversed());
+        int latIndex = latIndex(lat);
+        int lonIndex = lonIndex(lon);
+        int maxRing = Math.max(LAT_CELLS, LON_CELLS / 2);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if ((long) (2 * ring + 1) * (2 * ring + 1) > 4L * cells.size()) {
+                return scan(lat, lon, limit, filter);
+            }
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                int step = Math.abs(dLat) == ring ? 1 : 2 * ring;
+                for (int dLon = -ring; dLon <= ring; dLon += step) {
+                    collect(entriesAt(latIndex + dLat, lonIndex + dLon), lat, lon, limit, filter, best);
+                }
+            }
+            if (best.size() == limit && best.peek().distance() <= ringLowerBoundKm(lat, ring)) {
+                break;
+            }
+        }
+
+        return sorted(best);
+    }
+
+    public List<Neighbour> findWithinRadius(double lat, double lon, double radiusKm, int limit, Predicate<Entry> filter) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        BoundingBox box = GeoUtils.boundingBox(lat, lon, radiusKm);
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::distance).reversed());
+        Predicate<Entry> inRadius = entry -> box.contains(entry.latitude(), entry.longitude())
+                && GeoUtils.distanceKm(lat, lon, entry.latitude(), entry.longitude()) <= radiusKm;
+        for (Cell cell : cellsIn(box)) {
+            collect(cell.entries, lat, lon, limit, filter.and(inRadius), best);
+        }
+        return sorted(best);
+    }
+
+    public List<Entry> findWithinBox(BoundingBox box, Predicate<Entry> filter) {
+        List<Entry> result = new ArrayList<>();
+        for (Cell cell : cellsIn(box)) {
+            for (Entry entry : cell.entries) {
+                if (box.contains(entry.latitude(), entry.longitude()) && filter.test(entry)) {
+                    result.add(entry);
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(Entry::id));
+        return result;
+    }
+
+    public List<Cluster> cluster(BoundingBox box, int columns, int rows, String state) {
+        ClusterGrid grid = new ClusterGrid(box, columns, rows);
+        boolean cellsFitInBins = grid.binLat >= CELL_SIZE && grid.binLon >= CELL_SIZE;
+        for (Cell cell : cellsIn(box)) {
+            if (cellsFitInBins) {
+                Summary summary = cell.summaries.get(state);
+                if (summary != null) {
+                    grid.add(summary.count(), summary.latitudeSum(), summary.longitudeSum(), summary.representativeId());
+                }
+                continue;
+            }
+            for (Entry entry : cell.entries) {
+                if (state.equals(entry.state())) {
+                    grid.add(1, entry.latitude(), entry.longitude(), entry.id());
+                }
+            }
+        }
+        return grid.clusters();
+    }
+
+    public static List<Cluster> cluster(Collection<Entry> entries, BoundingBox box, int columns, int rows) {
+        ClusterGrid grid = new ClusterGrid(box, columns, rows);
+        for (Entry entry : entries) {
+            grid.add(1, entry.latitude(), entry.longitude(), entry.id());
+        }
+        return grid.clusters();
+    }
+
+    private Set<Entry> entriesAt(int latIndex, int lonIndex) {
+        Cell cell = cells.get(cellKey(latIndex, lonIndex));
+        return cell != null ? cell.entries : null;
+    }
+
+    private Collection<Cell> cellsIn(BoundingBox box) {
+        int minLatIndex = latIndex(box.minLat());
+        int maxLatIndex = latIndex(box.maxLat());
+        int minLonIndex = lonIndex(box.minLon());
+        int maxLonIndex = Math.min(lonIndex(box.maxLon()), minLonIndex + LON_CELLS - 1);
+        long boxCells = (long) (maxLatIndex - minLatIndex + 1) * (maxLonIndex - minLonIndex + 1);
+        if (boxCells > cells.size()) {
+            return cells.values();
+        }
+
+        List<Cell> result = new ArrayList<>();
+        for (int latIndex = minLatIndex; latIndex <= maxLatIndex; latIndex++) {
+            for (int lonIndex = minLonIndex; lonIndex <= maxLonIndex; lonIndex++) {
+                Cell cell = cells.get(cellKey(latIndex, lonIndex));
+                if (cell != null) {
+                    result.add(cell);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<Neighbour> scan(double lat, double lon, int limit, Predicate<Entry> filter) {
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::distance).reversed());
+        collect(entries.values(), lat, lon, limit, filter, best);
+        return sorted(best);
+    }
+
+    private void collect(Collection<Entry> candidates, double lat, double lon, int limit, Predicate<Entry> filter, PriorityQueue<Neighbour> best) {
+        if (candidates == null) {
+            return;
+        }
+        for (Entry entry : candidates) {
+            if (!filter.test(entry)) {
+                continue;
+            }
+            double distance = GeoUtils.distanceKm(lat, lon, entry.latitude(), entry.longitude());
+            if (best.size() < limit) {
+                best.add(new Neighbour(entry, distance));
+            } else if (distance < best.peek().distance()) {
+                best.poll();
+                best.add(new Neighbour(entry, distance));
+            }
+        }
+    }
+
+    private List<Neighbour> sorted(PriorityQueue<Neighbour> best) {
+        List<Neighbour> neighbours = new ArrayList<>(best);
+        neighbours.sort(Comparator.comparingDouble(Neighbour::distance).thenComparingInt(neighbour -> neighbour.entry().id()));
+        return neighbours;
+    }
+
+    private double ringLowerBoundKm(double lat, int ring) {
+        double span = Math.toRadians(ring * CELL_SIZE);
+        double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(lat) + ring * CELL_SIZE)));
+        return GeoUtils.EARTH_RADIUS_KM * Math.min(span, 2 * Math.asin(Math.min(1, cos * Math.sin(span / 2))));
+    }
+
+    private void removeFromCell(Entry entry) {
+        long key = cellKey(latIndex(entry.latitude()), lonIndex(entry.longitude()));
+        cells.computeIfPresent(key, (k, cell) -> {
+            cell.remove(entry);
+            return cell.entries.isEmpty() ? null : cell;
+        });
+    }
+
+    private static int latIndex(double lat) {
+        return (int) Math.floor((lat + 90) / CELL_SIZE);
+    }
+
+    private static int lonIndex(double lon) {
+        return (int) Math.floor((lon + 180) / CELL_SIZE);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        int wrappedLon = Math.floorMod(lonIndex, LON_CELLS);
+        return ((long) latIndex << 32) | wrappedLon;
+    }
+}
@@ -0,0 +1,15 @@
+package pt.iade.ei.thinktoilet.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToiletClusterDTO {
+    private int count;
+    private double latitude;
+    private double longitude;
+    private int representativeId;
+}
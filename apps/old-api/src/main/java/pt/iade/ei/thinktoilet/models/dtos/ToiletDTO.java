@@ -1,8 +1,10 @@
 package pt.iade.ei.thinktoilet.models.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
 import pt.iade.ei.thinktoilet.models.entities.TypeExtra;
 import pt.iade.ei.thinktoilet.models.views.Rating;
 
@@ -22,4 +24,7 @@ public class ToiletDTO {
     private Double longitude;
     private int numComments;
     private String placeId;
+    @With
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distance;
 }
@@ -0,0 +1,14 @@
+package pt.iade.ei.thinktoilet.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToiletMarkerDTO {
+    private int id;
+    private double latitude;
+    private double longitude;
+}
@@ -23,6 +23,12 @@ public class Comment {
     )
     private Interaction interaction;
 
+    @Column(name = "cmm_toil_id", insertable = false, updatable = false)
+    private int toiletId;
+
+    @Column(name = "cmm_user_id", insertable = false, updatable = false)
+    private int userId;
+
     @Column(name = "cmm_text", length = 280)
     private String text;
 
@@ -43,4 +49,10 @@ public class Comment {
 
     @Column(name = "cmm_score")
     private int score;
+
+    @Column(name = "cmm_likes", insertable = false, updatable = false)
+    private int numLikes;
+
+    @Column(name = "cmm_dislikes", insertable = false, updatable = false)
+    private int numDislikes;
 }
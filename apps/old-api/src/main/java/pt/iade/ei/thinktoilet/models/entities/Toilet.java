@@ -57,4 +57,13 @@ public class Toilet {
 
     @Column(name = "toil_cdate")
     private LocalDate creationDate;
+
+    @Column(name = "toil_version", insertable = false, updatable = false)
+    private int version;
+
+    @Column(name = "toil_cell", insertable = false, updatable = false)
+    private Integer cell;
+
+    @Column(name = "toil_location", insertable = false, updatable = false)
+    private byte[] location;
 }
\ No newline at end of file
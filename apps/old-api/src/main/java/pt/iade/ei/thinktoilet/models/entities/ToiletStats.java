@@ -0,0 +1,32 @@
+package pt.iade.ei.thinktoilet.models.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "toiletstats")
+public class ToiletStats {
+    @Id
+    @Column(name = "tst_toil_id")
+    private int toiletId;
+
+    @Column(name = "tst_comments")
+    private int numComments;
+
+    @Column(name = "tst_sum_clean")
+    private int sumClean;
+
+    @Column(name = "tst_sum_structure")
+    private int sumStructure;
+
+    @Column(name = "tst_sum_accessibility")
+    private int sumAccessibility;
+
+    @Column(name = "tst_paper")
+    private int numPaper;
+}
@@ -0,0 +1,22 @@
+package pt.iade.ei.thinktoilet.models.filters;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pt.iade.ei.thinktoilet.utils.BoundingBox;
+
+@Data
+@NoArgsConstructor
+public class ToiletFilter {
+    private Integer stateId;
+    private Integer notReportedByUserId;
+    private Integer interactedByUserId;
+    private Integer afterId;
+    private BoundingBox boundingBox;
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+
+    public boolean isNearPoint() {
+        return latitude != null && longitude != null;
+    }
+}
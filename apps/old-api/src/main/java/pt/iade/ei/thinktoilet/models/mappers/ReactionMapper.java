@@ -1,6 +1,8 @@
 package pt.iade.ei.thinktoilet.models.mappers;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import pt.iade.ei.thinktoilet.caches.ReferenceDataCache;
 import pt.iade.ei.thinktoilet.models.dtos.ReactionDTO;
 import pt.iade.ei.thinktoilet.models.entities.Reaction;
 
@@ -8,10 +10,13 @@ import java.util.List;
 
 @Component
 public class ReactionMapper {
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public ReactionDTO mapReactionDTO(Reaction reaction) {
         return new ReactionDTO(
                 reaction.getComment().getId(),
-                reaction.getTypeReaction().getTechnicalName().toUpperCase().replace("-", "_")
+                referenceDataCache.getTypeReactionName(reaction.getTypeReaction())
         );
     }
 
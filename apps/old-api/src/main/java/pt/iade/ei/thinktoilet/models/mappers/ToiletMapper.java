@@ -2,82 +2,76 @@ package pt.iade.ei.thinktoilet.models.mappers;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import pt.iade.ei.thinktoilet.caches.ReferenceDataCache;
 import pt.iade.ei.thinktoilet.models.dtos.ToiletDTO;
-import pt.iade.ei.thinktoilet.models.entities.Extra;
-import pt.iade.ei.thinktoilet.models.entities.Toilet;
-import pt.iade.ei.thinktoilet.models.entities.TypeExtra;
-import pt.iade.ei.thinktoilet.models.views.CountCommentToilet;
+import pt.iade.ei.thinktoilet.models.entities.ToiletStats;
+import pt.iade.ei.thinktoilet.models.projections.ToiletMarker;
+import pt.iade.ei.thinktoilet.models.projections.ToiletSummary;
+import pt.iade.ei.thinktoilet.models.response.ToiletMarkersResponse;
 import pt.iade.ei.thinktoilet.models.views.Rating;
-import pt.iade.ei.thinktoilet.repositories.CountCommentToiletRepository;
-import pt.iade.ei.thinktoilet.repositories.ExtraRepository;
-import pt.iade.ei.thinktoilet.repositories.RatingRepository;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @Component
 public class ToiletMapper {
     @Autowired
-    ExtraRepository extraRepository;
-    @Autowired
-    RatingRepository ratingRepository;
-    @Autowired
-    CountCommentToiletRepository countCommentToiletRepository;
+    ReferenceDataCache referenceDataCache;
 
-    public ToiletDTO mapToiletDTO(Toilet toilet){
-        List<String> extras = extraRepository.findExtrasByToilet_Id(toilet.getId())
-                .stream().map( (Extra extra) -> extra.getTypeExtra().getTechnicalName().toUpperCase().replace("-", "_")).toList();
-        String access = toilet.getAccess().getTechnicalName().toUpperCase().replace("-", "_");
-        Rating rating = ratingRepository.findRatingByToiletId(toilet.getId());
-        CountCommentToilet countComment = countCommentToiletRepository.findCountCommentToiletByToiletId(toilet.getId());
+    public ToiletDTO mapToiletDTO(ToiletSummary summary) {
+        List<String> extras = summary.getExtras() == null ? List.of() : Arrays.stream(summary.getExtras().split(","))
+                .map(referenceDataCache::getTypeExtraName)
+                .toList();
+        ToiletStats stats = new ToiletStats(summary.getId(), summary.getComments(), summary.getSumClean(),
+                summary.getSumStructure(), summary.getSumAccessibility(), summary.getPaper());
         return new ToiletDTO(
-                toilet.getId(),
-                toilet.getName(),
-                toilet.getAddress(),
-                rating,
+                summary.getId(),
+                summary.getName(),
+                summary.getAddress(),
+                mapRating(stats),
                 extras,
-                access,
-                toilet.getLatitude(),
-                toilet.getLongitude(),
-                countComment.getNum(),
-                toilet.getPlaceId()
+                referenceDataCache.getAccessName(summary.getAccessId(), summary.getAccessTechnicalName()),
+                summary.getLatitude(),
+                summary.getLongitude(),
+                stats.getNumComments(),
+                summary.getPlaceId(),
+                null
         );
     }
 
-    public List<ToiletDTO> mapToiletDTOS(Collection<Toilet> toilets){
-        List<Integer> toiletIds = toilets.stream().map(Toilet::getId).toList();
-        List<Extra> extras = extraRepository.findExtrasByToilet_IdIn(toiletIds);
-        List<Rating> ratings = ratingRepository.findRatingsByToiletIdIn(toiletIds);
-        List<CountCommentToilet> countComments = countCommentToiletRepository.findCountCommentToiletByToiletIdIn(toiletIds);
-
-        Map<Integer, Rating> ratingMap = ratings.stream()
-                .collect(Collectors.toMap(Rating::getToiletId, rating -> rating));
-        Map<Integer, Integer> commentCountMap = countComments.stream()
-                .collect(Collectors.toMap(CountCommentToilet::getToiletId, CountCommentToilet::getNum));
-        Map<Integer, List<String>> extrasMap = extras.stream()
-                .collect(Collectors.groupingBy(extra -> extra.getToilet().getId(),
-                        Collectors.mapping(extra -> extra.getTypeExtra().getTechnicalName().toUpperCase().replace("-", "_"), Collectors.toList())));
+    public List<ToiletDTO> mapToiletSummaries(Collection<ToiletSummary> summaries) {
+        return summaries.stream().map(this::mapToiletDTO).toList();
+    }
 
-        return toilets.stream().map(toilet -> {
-            Rating rating = ratingMap.get(toilet.getId());
-            int numComments = commentCountMap.get(toilet.getId());
-            List<String> extrasToilet = extrasMap.getOrDefault(toilet.getId(), List.of());
-            String access = toilet.getAccess().getTechnicalName().toUpperCase().replace("-", "_");
-            return new ToiletDTO(
-                    toilet.getId(),
-                    toilet.getName(),
-                    toilet.getAddress(),
-                    rating,
-                    extrasToilet,
-                    access,
-                    toilet.getLatitude(),
-                    toilet.getLongitude(),
-                    numComments,
-                    toilet.getPlaceId()
-            );
-        }).toList();
+    public ToiletMarkersResponse mapToiletMarkers(List<ToiletMarker> markers) {
+        Map<String, Integer> accessTypes = new LinkedHashMap<>();
+        int[] ids = new int[markers.size()];
+        double[] latitudes = new double[markers.size()];
+        double[] longitudes = new double[markers.size()];
+        int[] access = new int[markers.size()];
+        double[] scores = new double[markers.size()];
+        for (int i = 0; i < markers.size(); i++) {
+            ToiletMarker marker = markers.get(i);
+            String accessName = referenceDataCache.getAccessName(marker.accessId(), marker.accessTechnicalName());
+            ids[i] = marker.id();
+            latitudes[i] = marker.latitude();
+            longitudes[i] = marker.longitude();
+            access[i] = accessTypes.computeIfAbsent(accessName, name -> accessTypes.size());
+            scores[i] = marker.score();
+        }
+        return new ToiletMarkersResponse(new ArrayList<>(accessTypes.keySet()), ids, latitudes, longitudes, access, scores);
     }
 
+    private Rating mapRating(ToiletStats stats) {
+        int comments = stats.getNumComments();
+        if (comments == 0) {
+            return new Rating(stats.getToiletId(), 0, 0, 0, 0);
+        }
+        return new Rating(
+                stats.getToiletId(),
+                (double) stats.getSumClean() / comments,
+                (double) stats.getSumStructure() / comments,
+                (double) stats.getSumAccessibility() / comments,
+                stats.getNumPaper() * 100.0 / comments
+        );
+    }
 }
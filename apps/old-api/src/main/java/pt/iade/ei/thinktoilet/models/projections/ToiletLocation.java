@@ -0,0 +1,4 @@
+package pt.iade.ei.thinktoilet.models.projections;
+
+public record ToiletLocation(int id, double latitude, double longitude, String state) {
+}
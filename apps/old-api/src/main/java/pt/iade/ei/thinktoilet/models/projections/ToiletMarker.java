@@ -0,0 +1,4 @@
+package pt.iade.ei.thinktoilet.models.projections;
+
+public record ToiletMarker(int id, int version, double latitude, double longitude, int accessId, String accessTechnicalName, double score) {
+}
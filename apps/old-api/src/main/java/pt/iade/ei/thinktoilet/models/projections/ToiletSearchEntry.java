@@ -0,0 +1,4 @@
+package pt.iade.ei.thinktoilet.models.projections;
+
+public record ToiletSearchEntry(int id, String name, String address) {
+}
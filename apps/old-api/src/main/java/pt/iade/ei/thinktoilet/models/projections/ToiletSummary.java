@@ -0,0 +1,31 @@
+package pt.iade.ei.thinktoilet.models.projections;
+
+public interface ToiletSummary {
+    int getId();
+
+    String getName();
+
+    String getAddress();
+
+    double getLatitude();
+
+    double getLongitude();
+
+    String getPlaceId();
+
+    int getAccessId();
+
+    String getAccessTechnicalName();
+
+    int getComments();
+
+    int getSumClean();
+
+    int getSumStructure();
+
+    int getSumAccessibility();
+
+    int getPaper();
+
+    String getExtras();
+}
@@ -0,0 +1,4 @@
+package pt.iade.ei.thinktoilet.models.projections;
+
+public record ToiletVersion(int id, int version) {
+}
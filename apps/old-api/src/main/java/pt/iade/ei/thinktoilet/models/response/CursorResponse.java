@@ -0,0 +1,23 @@
+package pt.iade.ei.thinktoilet.models.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import pt.iade.ei.thinktoilet.utils.Cursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class CursorResponse<T> {
+    private List<T> items;
+    private String next;
+
+    public static <E, T> CursorResponse<T> of(List<E> rows, int size, Function<List<E>, List<T>> mapper, Function<E, Cursor> cursor) {
+        if (rows.size() <= size) {
+            return new CursorResponse<>(mapper.apply(rows), null);
+        }
+        List<E> page = rows.subList(0, size);
+        return new CursorResponse<>(mapper.apply(page), cursor.apply(page.get(size - 1)).encode());
+    }
+}
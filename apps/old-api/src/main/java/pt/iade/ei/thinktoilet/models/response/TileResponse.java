@@ -0,0 +1,28 @@
+package pt.iade.ei.thinktoilet.models.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import pt.iade.ei.thinktoilet.models.dtos.ToiletClusterDTO;
+import pt.iade.ei.thinktoilet.models.dtos.ToiletMarkerDTO;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TileResponse {
+    private int z;
+    private int x;
+    private int y;
+    private List<ToiletClusterDTO> clusters;
+    private List<ToiletMarkerDTO> markers;
+
+    public static TileResponse ofClusters(int z, int x, int y, List<ToiletClusterDTO> clusters) {
+        return new TileResponse(z, x, y, clusters, null);
+    }
+
+    public static TileResponse ofMarkers(int z, int x, int y, List<ToiletMarkerDTO> markers) {
+        return new TileResponse(z, x, y, null, markers);
+    }
+}
@@ -0,0 +1,17 @@
+package pt.iade.ei.thinktoilet.models.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ToiletMarkersResponse {
+    private List<String> accessTypes;
+    private int[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int[] access;
+    private double[] scores;
+}
@@ -1,12 +1,17 @@
 package pt.iade.ei.thinktoilet.repositories;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import pt.iade.ei.thinktoilet.models.dtos.CommentDTO;
 import pt.iade.ei.thinktoilet.models.entities.Comment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,51 +19,124 @@ public interface CommentRepository extends JpaRepository<Comment, Integer> {
     @EntityGraph(attributePaths = {"interaction", "interaction.toilet"})
     Comment findCommentById(int id);
 
-    @EntityGraph(attributePaths = {"interaction", "interaction.toilet"})
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT c " +
             "FROM Comment c " +
-            "WHERE c.interaction.toilet.id = :toiletId " +
-            "ORDER BY c.creationDateTime DESC")
-    List<Comment> findCommentsByToiletId(int toiletId);
+            "WHERE c.id = :id")
+    Comment findCommentByIdForUpdate(int id);
 
-    @EntityGraph(attributePaths = {"interaction", "interaction.toilet"})
-    @Query("SELECT c " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
             "FROM Comment c " +
-            "WHERE c.interaction.toilet.id = :toiletId " +
-            "ORDER BY c.creationDateTime DESC")
-    List<Comment> findCommentsByToiletId(int toiletId, Pageable pageable);
+            "WHERE c.toiletId = :toiletId " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findCommentsByToiletId(int toiletId);
 
-    @EntityGraph(attributePaths = {"interaction", "interaction.toilet"})
-    @Query("SELECT c " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
+            "FROM Comment c " +
+            "WHERE c.toiletId = :toiletId " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findCommentsByToiletId(int toiletId, Pageable pageable);
+
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
+            "FROM Comment c " +
+            "WHERE c.toiletId = :toiletId " +
+            "AND c.creationDateTime <= :afterDateTime AND (c.creationDateTime, c.id) < (:afterDateTime, :afterId) " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findCommentsByToiletIdAfter(int toiletId, LocalDateTime afterDateTime, int afterId, Pageable pageable);
+
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
             "FROM Comment c " +
             "LEFT JOIN UserReportComment urc ON c.id = urc.commentId AND urc.userId = :userId " +
-            "WHERE c.interaction.toilet.id = :toiletId " +
+            "WHERE c.toiletId = :toiletId " +
             "AND urc.userId IS NULL " +
-            "ORDER BY CASE WHEN c.interaction.user.id = :userId THEN 0 ELSE 1 END, c.creationDateTime DESC")
-    List<Comment> findCommentsByToiletIdForUserId(int toiletId, int userId);
+            "ORDER BY CASE WHEN c.userId = :userId THEN 0 ELSE 1 END, c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findCommentsByToiletIdForUserId(int toiletId, int userId);
 
-    @EntityGraph(attributePaths = {"interaction", "interaction.toilet"})
-    @Query("SELECT c " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
             "FROM Comment c " +
             "LEFT JOIN UserReportComment urc ON c.id = urc.commentId AND urc.userId = :userId " +
-            "WHERE c.interaction.toilet.id = :toiletId " +
+            "WHERE c.toiletId = :toiletId " +
             "AND urc.userId IS NULL " +
-            "ORDER BY CASE WHEN c.interaction.user.id = :userId THEN 0 ELSE 1 END, c.creationDateTime DESC")
-    List<Comment> findCommentsByToiletIdForUserId(int toiletId, int userId, Pageable pageable);
+            "ORDER BY CASE WHEN c.userId = :userId THEN 0 ELSE 1 END, c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findCommentsByToiletIdForUserId(int toiletId, int userId, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"interaction", "interaction.user"})
-    @Query("SELECT c " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
             "FROM Comment c " +
-            "WHERE c.interaction.user.id = :userId " +
-            "ORDER BY c.creationDateTime DESC")
-    List<Comment> findCommentsByUserId(int userId);
+            "LEFT JOIN UserReportComment urc ON c.id = urc.commentId AND urc.userId = :userId " +
+            "WHERE c.toiletId = :toiletId AND c.userId = :userId " +
+            "AND urc.userId IS NULL " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findOwnCommentsByToiletId(int toiletId, int userId, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"interaction", "interaction.user"})
-    @Query("SELECT c " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
             "FROM Comment c " +
-            "WHERE c.interaction.user.id = :userId " +
-            "ORDER BY c.creationDateTime DESC")
-    List<Comment> findCommentsByUserId(int userId, Pageable pageable);
+            "LEFT JOIN UserReportComment urc ON c.id = urc.commentId AND urc.userId = :userId " +
+            "WHERE c.toiletId = :toiletId AND c.userId = :userId " +
+            "AND urc.userId IS NULL " +
+            "AND c.creationDateTime <= :afterDateTime AND (c.creationDateTime, c.id) < (:afterDateTime, :afterId) " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findOwnCommentsByToiletIdAfter(int toiletId, int userId, LocalDateTime afterDateTime, int afterId, Pageable pageable);
+
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
+            "FROM Comment c " +
+            "LEFT JOIN UserReportComment urc ON c.id = urc.commentId AND urc.userId = :userId " +
+            "WHERE c.toiletId = :toiletId AND c.userId <> :userId " +
+            "AND urc.userId IS NULL " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findOtherCommentsByToiletId(int toiletId, int userId, Pageable pageable);
+
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
+            "FROM Comment c " +
+            "LEFT JOIN UserReportComment urc ON c.id = urc.commentId AND urc.userId = :userId " +
+            "WHERE c.toiletId = :toiletId AND c.userId <> :userId " +
+            "AND urc.userId IS NULL " +
+            "AND c.creationDateTime <= :afterDateTime AND (c.creationDateTime, c.id) < (:afterDateTime, :afterId) " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findOtherCommentsByToiletIdAfter(int toiletId, int userId, LocalDateTime afterDateTime, int afterId, Pageable pageable);
+
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
+            "FROM Comment c " +
+            "WHERE c.userId = :userId " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findCommentsByUserId(int userId);
+
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
+            "FROM Comment c " +
+            "WHERE c.userId = :userId " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findCommentsByUserId(int userId, Pageable pageable);
+
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.dtos.CommentDTO(c.id, c.toiletId, c.userId, c.text, c.ratingClean, c.ratingPaper, " +
+            "c.ratingStructure, c.ratingAccessibility, c.creationDateTime, c.numLikes, c.numDislikes, c.score) " +
+            "FROM Comment c " +
+            "WHERE c.userId = :userId " +
+            "AND c.creationDateTime <= :afterDateTime AND (c.creationDateTime, c.id) < (:afterDateTime, :afterId) " +
+            "ORDER BY c.creationDateTime DESC, c.id DESC")
+    List<CommentDTO> findCommentsByUserIdAfter(int userId, LocalDateTime afterDateTime, int afterId, Pageable pageable);
 
     boolean existsCommentById(int id);
+
+    @Modifying
+    @Query("UPDATE Comment c " +
+            "SET c.numLikes = c.numLikes + :likes, c.numDislikes = c.numDislikes + :dislikes " +
+            "WHERE c.id = :id")
+    void addToReactionCounters(int id, int likes, int dislikes);
+
+    @Modifying
+    @Query("UPDATE Comment c " +
+            "SET c.numLikes = c.numLikes - (SELECT COUNT(r) FROM Reaction r WHERE r.comment.id = c.id AND r.user.id = :userId AND r.typeReaction.technicalName = 'like'), " +
+            "c.numDislikes = c.numDislikes - (SELECT COUNT(r) FROM Reaction r WHERE r.comment.id = c.id AND r.user.id = :userId AND r.typeReaction.technicalName = 'dislike') " +
+            "WHERE c.id IN (SELECT r.comment.id FROM Reaction r WHERE r.user.id = :userId)")
+    void removeReactionsFromCountersByUserId(int userId);
 }
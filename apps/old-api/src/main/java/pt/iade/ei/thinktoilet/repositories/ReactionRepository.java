@@ -1,6 +1,9 @@
 package pt.iade.ei.thinktoilet.repositories;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import pt.iade.ei.thinktoilet.models.entities.Reaction;
 
@@ -11,6 +14,12 @@ public interface ReactionRepository extends CrudRepository<Reaction, Integer> {
     @EntityGraph(attributePaths = {"typeReaction"})
     Reaction findReactionByCommentIdAndUserId(int commentId, int userId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r " +
+            "FROM Reaction r " +
+            "WHERE r.comment.id = :commentId AND r.user.id = :userId")
+    Reaction findReactionByCommentIdAndUserIdForUpdate(int commentId, int userId);
+
     @EntityGraph(attributePaths = {"typeReaction"})
     List<Reaction> findReactionsByUser_IdAndComment_IdIn(int userId, Collection<Integer> commentIds);
 }
@@ -3,11 +3,13 @@ package pt.iade.ei.thinktoilet.repositories;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import pt.iade.ei.thinktoilet.models.views.SearchToilet;
 
 import java.util.List;
 
 public interface SearchToiletRepository extends JpaRepository<SearchToilet, Integer> {
+    @Transactional(readOnly = true)
     @Query(
             value = "SELECT t.toil_id, t.toil_name " +
                     "FROM toilet t " +
@@ -17,6 +19,7 @@ public interface SearchToiletRepository extends JpaRepository<SearchToilet, Inte
     )
     List<SearchToilet> searchToilets(String query);
 
+    @Transactional(readOnly = true)
     @Query(
             value = "SELECT t.toil_id, t.toil_name " +
                     "FROM toilet t " +
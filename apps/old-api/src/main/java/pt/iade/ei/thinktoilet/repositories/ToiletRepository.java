@@ -1,171 +1,75 @@
 package pt.iade.ei.thinktoilet.repositories;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import pt.iade.ei.thinktoilet.models.entities.Toilet;
+import pt.iade.ei.thinktoilet.models.projections.ToiletLocation;
+import pt.iade.ei.thinktoilet.models.projections.ToiletSearchEntry;
+import pt.iade.ei.thinktoilet.models.projections.ToiletSummary;
+import pt.iade.ei.thinktoilet.models.projections.ToiletVersion;
 
 import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ToiletRepository extends JpaRepository<Toilet, Integer> {
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "ORDER BY t.id")
-    List<Toilet> findToilets();
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "ORDER BY t.id")
-    List<Toilet> findToilets(Pageable pageable);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "LEFT JOIN UserReportToilet urt ON t.id = urt.toiletId AND urt.userId = :userId " +
-            "WHERE urt.userId IS NULL " +
-            "ORDER BY t.id")
-    List<Toilet> findToiletsForUserId(int userId);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "LEFT JOIN UserReportToilet urt ON t.id = urt.toiletId AND urt.userId = :userId " +
-            "WHERE urt.userId IS NULL " +
-            "ORDER BY t.id")
-    List<Toilet> findToiletsForUserId(int userId, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "WHERE t.state.technicalName = :stateTechnicalName " +
-            "ORDER BY t.id")
-    List<Toilet> findToiletsByStateTechnicalName(String stateTechnicalName);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "WHERE t.state.technicalName = :stateTechnicalName " +
-            "ORDER BY t.id")
-    List<Toilet> findToiletsByStateTechnicalName(String stateTechnicalName, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "LEFT JOIN UserReportToilet urt ON t.id = urt.toiletId AND urt.userId = :userId " +
-            "WHERE t.state.technicalName = :stateTechnicalName AND urt.userId IS NULL " +
-            "ORDER BY t.id")
-    List<Toilet> findToiletsByStateTechnicalNameAndForUserId(String stateTechnicalName, int userId);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "LEFT JOIN UserReportToilet urt ON t.id = urt.toiletId AND urt.userId = :userId " +
-            "WHERE t.state.technicalName = :stateTechnicalName AND urt.userId IS NULL " +
-            "ORDER BY t.id")
-    List<Toilet> findToiletsByStateTechnicalNameAndForUserId(String stateTechnicalName, int userId, Pageable pageable);
-
+public interface ToiletRepository extends JpaRepository<Toilet, Integer>, ToiletRepositoryCustom {
     @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
     Toilet findToiletById(int id);
 
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "WHERE t.id IN :ids")
-    List<Toilet> findToiletsByIds(Collection<Integer> ids);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * cos(radians(t.longitude) - radians(:lon)) + sin(radians(:lat)) * sin(radians(t.latitude))))")
-    List<Toilet> findToiletsByDistance(double lat, double lon);
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.projections.ToiletLocation(t.id, t.latitude, t.longitude, t.state.technicalName) " +
+            "FROM Toilet t")
+    List<ToiletLocation> findToiletLocations();
 
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * cos(radians(t.longitude) - radians(:lon)) + sin(radians(:lat)) * sin(radians(t.latitude))))")
-    List<Toilet> findToiletsByDistance(double lat, double lon, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.projections.ToiletLocation(t.id, t.latitude, t.longitude, t.state.technicalName) " +
             "FROM Toilet t " +
-            "LEFT JOIN UserReportToilet urt ON t.id = urt.toiletId AND urt.userId = :userId " +
-            "WHERE urt.userId IS NULL " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * cos(radians(t.longitude) - radians(:lon)) + sin(radians(:lat)) * sin(radians(t.latitude))))")
-    List<Toilet> findToiletsByDistanceAndForUserId(double lat, double lon, int userId);
+            "WHERE t.id IN :ids")
+    List<ToiletLocation> findToiletLocationsByIds(Collection<Integer> ids);
 
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.projections.ToiletSearchEntry(t.id, t.name, t.address) " +
             "FROM Toilet t " +
-            "LEFT JOIN UserReportToilet urt ON t.id = urt.toiletId AND urt.userId = :userId " +
-            "WHERE urt.userId IS NULL " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * cos(radians(t.longitude) - radians(:lon)) + sin(radians(:lat)) * sin(radians(t.latitude))))")
-    List<Toilet> findToiletsByDistanceAndForUserId(double lat, double lon, int userId, Pageable pageable);
+            "WHERE t.state.technicalName = :stateTechnicalName")
+    List<ToiletSearchEntry> findToiletSearchEntries(String stateTechnicalName);
 
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.projections.ToiletSearchEntry(t.id, t.name, t.address) " +
             "FROM Toilet t " +
-            "WHERE t.state.technicalName = :stateTechnicalName " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * cos(radians(t.longitude) - radians(:lon)) + sin(radians(:lat)) * sin(radians(t.latitude))))")
-    List<Toilet> findToiletsByDistanceAndState(String stateTechnicalName, double lat, double lon);
+            "WHERE t.state.technicalName = :stateTechnicalName AND t.id IN :ids")
+    List<ToiletSearchEntry> findToiletSearchEntriesByIds(String stateTechnicalName, Collection<Integer> ids);
 
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "WHERE t.state.technicalName = :stateTechnicalName " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * cos(radians(t.longitude) - radians(:lon)) + sin(radians(:lat)) * sin(radians(t.latitude))))")
-    List<Toilet> findToiletsByDistanceAndState(String stateTechnicalName, double lat, double lon, Pageable pageable);
+    @Query(value = "SELECT t.toil_id AS id, t.toil_name AS name, t.toil_address AS address, " +
+            "t.toil_lat AS latitude, t.toil_long AS longitude, t.toil_placeid AS placeId, " +
+            "a.acs_id AS accessId, a.acs_technical_name AS accessTechnicalName, " +
+            "COALESCE(ts.tst_comments, 0) AS comments, COALESCE(ts.tst_sum_clean, 0) AS sumClean, " +
+            "COALESCE(ts.tst_sum_structure, 0) AS sumStructure, COALESCE(ts.tst_sum_accessibility, 0) AS sumAccessibility, " +
+            "COALESCE(ts.tst_paper, 0) AS paper, " +
+            "(SELECT GROUP_CONCAT(te.tex_technical_name ORDER BY e.extra_id SEPARATOR ',') " +
+            "FROM extra e " +
+            "INNER JOIN typeextra te ON te.tex_id = e.extra_tex_id " +
+            "WHERE e.extra_toil_id = t.toil_id) AS extras " +
+            "FROM toilet t " +
+            "INNER JOIN access a ON a.acs_id = t.toil_acs_id " +
+            "LEFT JOIN toiletstats ts ON ts.tst_toil_id = t.toil_id " +
+            "WHERE t.toil_id IN (:ids)", nativeQuery = true)
+    List<ToiletSummary> findToiletSummariesByIds(Collection<Integer> ids);
 
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
+    @Query("SELECT new pt.iade.ei.thinktoilet.models.projections.ToiletVersion(t.id, t.version) " +
             "FROM Toilet t " +
-            "LEFT JOIN UserReportToilet urt ON t.id = urt.toiletId AND urt.userId = :userId " +
-            "WHERE t.state.technicalName = :stateTechnicalName AND urt.userId IS NULL " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * cos(radians(t.longitude) - radians(:lon)) + sin(radians(:lat)) * sin(radians(t.latitude))))")
-    List<Toilet> findToiletsByDistanceAndStateAndForUserId(String stateTechnicalName, double lat, double lon, int userId);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "LEFT JOIN UserReportToilet urt ON t.id = urt.toiletId AND urt.userId = :userId " +
-            "WHERE t.state.technicalName = :stateTechnicalName AND urt.userId IS NULL " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * cos(radians(t.longitude) - radians(:lon)) + sin(radians(:lat)) * sin(radians(t.latitude))))")
-    List<Toilet> findToiletsByDistanceAndStateAndForUserId(String stateTechnicalName, double lat, double lon, int userId, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT i.toilet " +
-            "FROM Interaction i " +
-            "WHERE i.user.id = :userId")
-    List<Toilet> findToiletsByUserId(int userId);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT i.toilet " +
-            "FROM Interaction i " +
-            "WHERE i.user.id = :userId")
-    List<Toilet> findToiletsByUserId(int userId, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT i.toilet " +
-            "FROM Interaction i " +
-            "WHERE i.toilet.state.technicalName = :stateTechnicalName AND i.user.id = :userId")
-    List<Toilet> findToiletsByUserIdAndState(String stateTechnicalName, int userId);
+            "WHERE t.id IN :ids")
+    List<ToiletVersion> findToiletVersionsByIds(Collection<Integer> ids);
 
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT i.toilet " +
-            "FROM Interaction i " +
-            "WHERE i.toilet.state.technicalName = :stateTechnicalName AND i.user.id = :userId")
-    List<Toilet> findToiletsByUserIdAndState(String stateTechnicalName, int userId, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Toilet t " +
+            "SET t.version = t.version + 1 " +
+            "WHERE t.id IN :ids")
+    void incrementVersions(Collection<Integer> ids);
 
-    @EntityGraph(attributePaths = {"city", "city.country", "access", "state"})
-    @Query("SELECT t " +
-            "FROM Toilet t " +
-            "WHERE t.latitude >= :minLat AND t.latitude <= :maxLat AND t.longitude >= :minLon AND t.longitude <= :maxLon AND t.state.technicalName = 'active'")
-    List<Toilet> findToiletsByBoundingBox(double minLat, double maxLat, double minLon, double maxLon);
+    @Modifying
+    @Query("UPDATE Toilet t " +
+            "SET t.version = t.version + 1 " +
+            "WHERE t.access.id IN :accessIds")
+    void incrementVersionsByAccessIds(Collection<Integer> accessIds);
 
     boolean existsToiletById(int id);
 }
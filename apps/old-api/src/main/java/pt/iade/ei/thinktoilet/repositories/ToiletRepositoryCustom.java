@@ -0,0 +1,17 @@
+package pt.iade.ei.thinktoilet.repositories;
+
+import org.springframework.data.domain.Pageable;
+import pt.iade.ei.thinktoilet.models.filters.ToiletFilter;
+import pt.iade.ei.thinktoilet.models.projections.ToiletLocation;
+import pt.iade.ei.thinktoilet.models.projections.ToiletMarker;
+import pt.iade.ei.thinktoilet.models.projections.ToiletVersion;
+
+import java.util.List;
+
+public interface ToiletRepositoryCustom {
+    List<ToiletVersion> findToiletVersions(ToiletFilter filter, Pageable pageable);
+
+    List<ToiletLocation> findToiletLocations(ToiletFilter filter);
+
+    List<ToiletMarker> findToiletMarkers(ToiletFilter filter);
+}
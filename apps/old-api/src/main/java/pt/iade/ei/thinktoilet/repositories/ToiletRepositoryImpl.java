@@ -0,0 +1,159 @@
+package pt.iade.ei.thinktoilet.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.springframework.data.domain.Pageable;
+import pt.iade.ei.thinktoilet.models.entities.Interaction;
+import pt.iade.ei.thinktoilet.models.entities.Access;
+import pt.iade.ei.thinktoilet.models.entities.Toilet;
+import pt.iade.ei.thinktoilet.models.entities.ToiletStats;
+import pt.iade.ei.thinktoilet.models.filters.ToiletFilter;
+import pt.iade.ei.thinktoilet.models.projections.ToiletLocation;
+import pt.iade.ei.thinktoilet.models.projections.ToiletMarker;
+import pt.iade.ei.thinktoilet.models.projections.ToiletVersion;
+import pt.iade.ei.thinktoilet.models.views.UserReportToilet;
+import pt.iade.ei.thinktoilet.utils.BoundingBox;
+import pt.iade.ei.thinktoilet.utils.GeoCells;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ToiletRepositoryImpl implements ToiletRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ToiletVersion> findToiletVersions(ToiletFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ToiletVersion> query = cb.createQuery(ToiletVersion.class);
+        Root<Toilet> toilet = query.from(Toilet.class);
+        query.select(cb.construct(ToiletVersion.class, toilet.get("id"), toilet.get("version")));
+        Map<String, Object> parameters = applyFilter(cb, query, toilet, filter);
+        return page(bind(entityManager.createQuery(query), parameters), pageable).getResultList();
+    }
+
+    @Override
+    public List<ToiletLocation> findToiletLocations(ToiletFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ToiletLocation> query = cb.createQuery(ToiletLocation.class);
+        Root<Toilet> toilet = query.from(Toilet.class);
+        query.select(cb.construct(ToiletLocation.class, toilet.get("id"), toilet.get("latitude"), toilet.get("longitude"),
+                toilet.get("state").get("technicalName")));
+        Map<String, Object> parameters = applyFilter(cb, query, toilet, filter);
+        return bind(entityManager.createQuery(query), parameters).getResultList();
+    }
+
+    @Override
+    public List<ToiletMarker> findToiletMarkers(ToiletFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        JpaRoot<Toilet> toilet = (JpaRoot<Toilet>) query.from(Toilet.class);
+        Join<Toilet, Access> access = toilet.join("access");
+        JpaEntityJoin<ToiletStats> stats = toilet.join(ToiletStats.class, SqmJoinType.LEFT);
+        stats.on(cb.equal(stats.get("toiletId"), toilet.get("id")));
+        query.multiselect(toilet.get("id"), toilet.get("version"), toilet.get("latitude"), toilet.get("longitude"),
+                access.get("id"), access.get("technicalName"), stats.get("numComments"),
+                cb.sum(cb.sum(stats.<Integer>get("sumClean"), stats.get("sumStructure")), stats.get("sumAccessibility")));
+        Map<String, Object> parameters = applyFilter(cb, query, toilet, filter);
+
+        return bind(entityManager.createQuery(query), parameters).getResultList().stream()
+                .map(row -> {
+                    Integer comments = row.get(6, Integer.class);
+                    Integer ratings = row.get(7, Integer.class);
+                    double score = comments == null || comments == 0 ? 0 : ratings / (3.0 * comments);
+                    return new ToiletMarker(row.get(0, Integer.class), row.get(1, Integer.class), row.get(2, Double.class),
+                            row.get(3, Double.class), row.get(4, Integer.class), row.get(5, String.class), score);
+                })
+                .toList();
+    }
+
+    private <T> TypedQuery<T> page(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private <T> TypedQuery<T> bind(TypedQuery<T> query, Map<String, Object> parameters) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private Map<String, Object> applyFilter(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Toilet> toilet, ToiletFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.getStateId() != null) {
+            predicates.add(cb.equal(toilet.get("state").get("id"), filter.getStateId()));
+        }
+        if (filter.getAfterId() != null) {
+            predicates.add(cb.greaterThan(toilet.get("id"), filter.getAfterId()));
+        }
+        if (filter.getBoundingBox() != null) {
+            BoundingBox box = filter.getBoundingBox();
+            predicates.add(withinBox(cb, toilet, box, parameters));
+            List<GeoCells.Range> cells = GeoCells.cover(box);
+            if (!cells.isEmpty()) {
+                predicates.add(cb.or(cells.stream()
+                        .map(range -> cb.between(toilet.get("cell"), range.from(), range.to()))
+                        .toArray(Predicate[]::new)));
+            }
+        }
+        if (filter.getNotReportedByUserId() != null) {
+            Subquery<Integer> reported = query.subquery(Integer.class);
+            Root<UserReportToilet> report = reported.from(UserReportToilet.class);
+            reported.select(report.get("toiletId"))
+                    .where(cb.equal(report.get("toiletId"), toilet.get("id")),
+                            cb.equal(report.get("userId"), filter.getNotReportedByUserId()));
+            predicates.add(cb.not(cb.exists(reported)));
+        }
+        if (filter.getInteractedByUserId() != null) {
+            Subquery<Integer> interacted = query.subquery(Integer.class);
+            Root<Interaction> interaction = interacted.from(Interaction.class);
+            interacted.select(interaction.get("id"))
+                    .where(cb.equal(interaction.get("toilet").get("id"), toilet.get("id")),
+                            cb.equal(interaction.get("user").get("id"), filter.getInteractedByUserId()));
+            predicates.add(cb.exists(interacted));
+        }
+
+        List<Order> orders = new ArrayList<>();
+        if (filter.isNearPoint()) {
+            Expression<Double> distance = distanceMeters(cb, toilet, filter.getLatitude(), filter.getLongitude(), parameters);
+            if (filter.getRadiusKm() != null) {
+                predicates.add(cb.le(distance, filter.getRadiusKm() * 1000));
+            }
+            orders.add(cb.asc(distance));
+        }
+        orders.add(cb.asc(toilet.get("id")));
+
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(orders);
+        return parameters;
+    }
+
+    private Predicate withinBox(CriteriaBuilder cb, Root<Toilet> toilet, BoundingBox box, Map<String, Object> parameters) {
+        Expression<byte[]> corners = cb.function("LineString", byte[].class,
+                point(cb, "min", box.minLat(), box.minLon(), parameters), point(cb, "max", box.maxLat(), box.maxLon(), parameters));
+        Expression<byte[]> envelope = cb.function("ST_Envelope", byte[].class, corners);
+        return cb.isTrue(cb.function("MBRContains", Boolean.class, envelope, toilet.get("location")));
+    }
+
+    private Expression<Double> distanceMeters(CriteriaBuilder cb, Root<Toilet> toilet, double lat, double lon, Map<String, Object> parameters) {
+        return cb.function("ST_Distance_Sphere", Double.class, toilet.get("location"), point(cb, "origin", lat, lon, parameters));
+    }
+
+    private Expression<byte[]> point(CriteriaBuilder cb, String name, double lat, double lon, Map<String, Object> parameters) {
+        parameters.put(name + "Lon", lon);
+        parameters.put(name + "Lat", lat);
+        return cb.function("POINT", byte[].class, cb.parameter(Double.class, name + "Lon"), cb.parameter(Double.class, name + "Lat"));
+    }
+}
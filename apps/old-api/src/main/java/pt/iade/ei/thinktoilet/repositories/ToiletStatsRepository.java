@@ -0,0 +1,60 @@
+package pt.iade.ei.thinktoilet.repositories;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import pt.iade.ei.thinktoilet.models.entities.ToiletStats;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ToiletStatsRepository extends CrudRepository<ToiletStats, Integer> {
+    @Modifying
+    @Query(value = "INSERT INTO toiletstats (tst_toil_id, tst_comments, tst_sum_clean, tst_sum_structure, tst_sum_accessibility, tst_paper) " +
+            "VALUES (:toiletId, :comments, :clean, :structure, :accessibility, :paper) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "tst_comments = tst_comments + :comments, " +
+            "tst_sum_clean = tst_sum_clean + :clean, " +
+            "tst_sum_structure = tst_sum_structure + :structure, " +
+            "tst_sum_accessibility = tst_sum_accessibility + :accessibility, " +
+            "tst_paper = tst_paper + :paper", nativeQuery = true)
+    void addToToiletStats(int toiletId, int comments, int clean, int structure, int accessibility, int paper);
+
+    @Query(value = "SELECT a.toil_id " +
+            "FROM (" +
+            "SELECT t.toil_id, COUNT(c.cmm_id) AS comments, COALESCE(SUM(c.cmm_rclean), 0) AS clean, " +
+            "COALESCE(SUM(c.cmm_rstructure), 0) AS structure, COALESCE(SUM(c.cmm_raccessibility), 0) AS accessibility, " +
+            "COALESCE(SUM(c.cmm_rpaper), 0) AS paper " +
+            "FROM toilet t " +
+            "LEFT JOIN interaction i ON t.toil_id = i.int_toil_id " +
+            "LEFT JOIN comment c ON i.int_id = c.cmm_int_id " +
+            "GROUP BY t.toil_id" +
+            ") a " +
+            "LEFT JOIN toiletstats s ON s.tst_toil_id = a.toil_id " +
+            "WHERE s.tst_toil_id IS NULL " +
+            "OR s.tst_comments <> a.comments " +
+            "OR s.tst_sum_clean <> a.clean " +
+            "OR s.tst_sum_structure <> a.structure " +
+            "OR s.tst_sum_accessibility <> a.accessibility " +
+            "OR s.tst_paper <> a.paper", nativeQuery = true)
+    List<Integer> findToiletIdsWithStaleStats();
+
+    @Modifying
+    @Query(value = "INSERT INTO toiletstats (tst_toil_id, tst_comments, tst_sum_clean, tst_sum_structure, tst_sum_accessibility, tst_paper) " +
+            "SELECT t.toil_id, COUNT(c.cmm_id), COALESCE(SUM(c.cmm_rclean), 0), COALESCE(SUM(c.cmm_rstructure), 0), " +
+            "COALESCE(SUM(c.cmm_raccessibility), 0), COALESCE(SUM(c.cmm_rpaper), 0) " +
+            "FROM toilet t " +
+            "LEFT JOIN interaction i ON t.toil_id = i.int_toil_id " +
+            "LEFT JOIN comment c ON i.int_id = c.cmm_int_id " +
+            "WHERE t.toil_id IN :toiletIds " +
+            "GROUP BY t.toil_id " +
+            "ON DUPLICATE KEY UPDATE " +
+            "tst_comments = VALUES(tst_comments), " +
+            "tst_sum_clean = VALUES(tst_sum_clean), " +
+            "tst_sum_structure = VALUES(tst_sum_structure), " +
+            "tst_sum_accessibility = VALUES(tst_sum_accessibility), " +
+            "tst_paper = VALUES(tst_paper)", nativeQuery = true)
+    void rebuildToiletStats(Collection<Integer> toiletIds);
+}
@@ -0,0 +1,7 @@
+package pt.iade.ei.thinktoilet.repositories;
+
+import org.springframework.data.repository.CrudRepository;
+import pt.iade.ei.thinktoilet.models.entities.TypeExtra;
+
+public interface TypeExtraRepository extends CrudRepository<TypeExtra, Integer> {
+}
@@ -0,0 +1,16 @@
+package pt.iade.ei.thinktoilet.repositories;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import pt.iade.ei.thinktoilet.models.views.UserReportToilet;
+
+import java.util.List;
+
+@Repository
+public interface UserReportToiletRepository extends CrudRepository<UserReportToilet, Integer> {
+    @Query("SELECT urt.toiletId " +
+            "FROM UserReportToilet urt " +
+            "WHERE urt.userId = :userId")
+    List<Integer> findToiletIdsByUserId(int userId);
+}
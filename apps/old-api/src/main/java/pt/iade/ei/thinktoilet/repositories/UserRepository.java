@@ -1,5 +1,6 @@
 package pt.iade.ei.thinktoilet.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
@@ -15,6 +16,12 @@ public interface UserRepository extends CrudRepository<User, Integer> {
             "ORDER BY u.id")
     List<User> findUsers();
 
+    @Query("SELECT u " +
+            "FROM User u " +
+            "WHERE u.id > :afterId " +
+            "ORDER BY u.id")
+    List<User> findUsersAfterId(int afterId, Pageable pageable);
+
     List<User> findUserByIdIn(Collection<Integer> ids);
 
     User findUserById(int id);
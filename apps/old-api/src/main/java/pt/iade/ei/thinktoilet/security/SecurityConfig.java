@@ -37,6 +37,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests((authorizeHttpRequests) ->
                         authorizeHttpRequests
                                 .requestMatchers(HttpMethod.POST, "/api/toilets/*/image").hasRole("ADMIN")
+                                .requestMatchers(HttpMethod.POST, "/api/toilets/stats/rebuild").hasRole("ADMIN")
+                                .requestMatchers(HttpMethod.POST, "/api/reference-data/reload").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.DELETE, "/api/users").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.DELETE, "/api/comments").hasRole("ADMIN")
                                 .requestMatchers("/api/**").permitAll()
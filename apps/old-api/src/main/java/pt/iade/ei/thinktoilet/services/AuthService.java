@@ -1,11 +1,10 @@
 package pt.iade.ei.thinktoilet.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import pt.iade.ei.thinktoilet.exceptions.EmailAlreadyInUseException;
 import pt.iade.ei.thinktoilet.exceptions.InvalidPasswordException;
 import pt.iade.ei.thinktoilet.models.requests.LoginRequest;
@@ -14,6 +13,10 @@ import pt.iade.ei.thinktoilet.models.dtos.UserDTO;
 import pt.iade.ei.thinktoilet.models.entities.User;
 import pt.iade.ei.thinktoilet.models.mappers.UserMapper;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.security.PasswordHasher;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class AuthService {
@@ -22,37 +25,57 @@ public class AuthService {
     @Autowired
     private UserMapper userMapper;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
 
-    @Transactional
-    public UserDTO login(LoginRequest request) {
+    public CompletableFuture<UserDTO> login(LoginRequest request) {
         User user = userService.getUserByEmail(request.getEmail());
 
-        if(!passwordEncoder.matches(request.getPassword(), user.getPassword())){
-            throw new InvalidPasswordException();
-        }
-
-        return userMapper.mapLoginResponse(user, request.getEmail());
+        return checkPassword(user, request.getPassword())
+                .thenApplyAsync(ignored -> userMapper.mapLoginResponse(user, request.getEmail()), taskExecutor);
     }
 
-    @Transactional
-    public ResponseEntity<ApiResponse> register(RegisterRequest request){
-        if(userService.existsUserByEmail(request.getEmail())){
+    public CompletableFuture<ResponseEntity<ApiResponse>> register(RegisterRequest request) {
+        if (userService.existsUserByEmail(request.getEmail())) {
             throw new EmailAlreadyInUseException();
         }
 
-        User user = new User();
-        user.setName(request.getName());
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setPoints(0);
-        user.setIconId(request.getIconId());
-        user.setBirthDate(request.getBirthDate());
-        user.setCreationDate(java.time.LocalDate.now());
+        return passwordHasher.encode(request.getPassword())
+                .thenApplyAsync(password -> {
+                    userService.registerUser(request, password);
+
+                    ApiResponse response = new ApiResponse(HttpStatus.CREATED.value(), "User registered successfully.");
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                }, taskExecutor);
+    }
 
-        userService.saveUser(user);
+    public CompletableFuture<UserDTO> editName(int id, String name, String password) {
+        User user = userService.getUserById(id);
+        return checkPassword(user, password)
+                .thenApplyAsync(ignored -> userService.editName(id, name), taskExecutor);
+    }
+
+    public CompletableFuture<UserDTO> editEmail(int id, String email, String password) {
+        User user = userService.getUserById(id);
+        return checkPassword(user, password)
+                .thenApplyAsync(ignored -> userService.editEmail(id, email), taskExecutor);
+    }
+
+    public CompletableFuture<UserDTO> editPassword(int id, String newPassword, String password) {
+        User user = userService.getUserById(id);
+        return checkPassword(user, password)
+                .thenCompose(ignored -> passwordHasher.encode(newPassword))
+                .thenApplyAsync(encodedPassword -> userService.editPassword(id, encodedPassword), taskExecutor);
+    }
 
-        ApiResponse response = new ApiResponse(HttpStatus.CREATED.value(), "User registered successfully.");
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    private CompletableFuture<Void> checkPassword(User user, String password) {
+        return passwordHasher.matches(password, user.getPassword())
+                .thenAccept(matches -> {
+                    if (!matches) {
+                        throw new InvalidPasswordException();
+                    }
+                });
     }
 }
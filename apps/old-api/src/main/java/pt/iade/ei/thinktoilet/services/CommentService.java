@@ -8,6 +8,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pt.iade.ei.thinktoilet.exceptions.BadRequestException;
 import pt.iade.ei.thinktoilet.exceptions.DatabaseSaveException;
 import pt.iade.ei.thinktoilet.exceptions.NotFoundException;
 import pt.iade.ei.thinktoilet.models.dtos.CommentDTO;
@@ -18,11 +19,15 @@ import pt.iade.ei.thinktoilet.models.entities.User;
 import pt.iade.ei.thinktoilet.models.mappers.CommentMapper;
 import pt.iade.ei.thinktoilet.models.requests.CommentRequest;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.models.response.CursorResponse;
 import pt.iade.ei.thinktoilet.repositories.CommentRepository;
+import pt.iade.ei.thinktoilet.utils.Cursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 public class CommentService {
@@ -31,41 +36,81 @@ public class CommentService {
     @Autowired
     private ToiletService toiletService;
     @Autowired
+    private ToiletVersionService toiletVersionService;
+    @Autowired
     private UserService userService;
     @Autowired
     private InteractionService interactionService;
     @Autowired
+    private ToiletStatsService toiletStatsService;
+    @Autowired
     private CommentMapper commentMapper;
 
+    private static final int OWN_COMMENTS_RANK = 0;
+    private static final int OTHER_COMMENTS_RANK = 1;
+
     public Comment getCommentById(int id) {
         return Optional.ofNullable(commentRepository.findCommentById(id))
                 .orElseThrow(() -> new NotFoundException(String.valueOf(id), "Comment", "id"));
     }
 
-    public List<Comment> getCommentsByToiletId(int toiletId) {
+    public Comment getCommentByIdForUpdate(int id) {
+        return Optional.ofNullable(commentRepository.findCommentByIdForUpdate(id))
+                .orElseThrow(() -> new NotFoundException(String.valueOf(id), "Comment", "id"));
+    }
+
+    public List<CommentDTO> getCommentsByToiletId(int toiletId) {
         return commentRepository.findCommentsByToiletId(toiletId);
     }
 
-    public List<Comment> getCommentsByToiletId(int toiletId, Pageable pageable) {
+    public List<CommentDTO> getCommentsByToiletId(int toiletId, Pageable pageable) {
         return commentRepository.findCommentsByToiletId(toiletId, pageable);
     }
 
-    public List<Comment> getCommentsByToiletIdForUserId(int toiletId, int userId) {
+    public List<CommentDTO> getCommentsByToiletIdForUserId(int toiletId, int userId) {
         return commentRepository.findCommentsByToiletIdForUserId(toiletId, userId);
     }
 
-    public List<Comment> getCommentsByToiletIdForUserId(int toiletId, int userId, Pageable pageable) {
+    public List<CommentDTO> getCommentsByToiletIdForUserId(int toiletId, int userId, Pageable pageable) {
         return commentRepository.findCommentsByToiletIdForUserId(toiletId, userId, pageable);
     }
 
-    public List<Comment> getCommentsByUserId(int userId) {
+    public List<CommentDTO> getCommentsByUserId(int userId) {
         return commentRepository.findCommentsByUserId(userId);
     }
 
-    public List<Comment> getCommentsByUserId(int userId, Pageable pageable) {
+    public List<CommentDTO> getCommentsByUserId(int userId, Pageable pageable) {
         return commentRepository.findCommentsByUserId(userId, pageable);
     }
 
+    public List<CommentDTO> getCommentsByToiletIdAfter(int toiletId, Cursor after, int size) {
+        PageRequest pageable = PageRequest.of(0, size + 1);
+        return after != null
+                ? commentRepository.findCommentsByToiletIdAfter(toiletId, after.creationDateTime(), after.id(), pageable)
+                : commentRepository.findCommentsByToiletId(toiletId, pageable);
+    }
+
+    public List<CommentDTO> getCommentsByToiletIdForUserIdAfter(int toiletId, int userId, Cursor after, int size) {
+        PageRequest pageable = PageRequest.of(0, size + 1);
+        if (after != null && after.rank() != OWN_COMMENTS_RANK) {
+            return commentRepository.findOtherCommentsByToiletIdAfter(toiletId, userId, after.creationDateTime(), after.id(), pageable);
+        }
+        List<CommentDTO> comments = new ArrayList<>(after != null
+                ? commentRepository.findOwnCommentsByToiletIdAfter(toiletId, userId, after.creationDateTime(), after.id(), pageable)
+                : commentRepository.findOwnCommentsByToiletId(toiletId, userId, pageable));
+        if (comments.size() <= size) {
+            comments.addAll(commentRepository.findOtherCommentsByToiletId(toiletId, userId, PageRequest.of(0, size + 1 - comments.size())));
+        }
+        return comments;
+    }
+
+    public List<CommentDTO> getCommentsByUserIdAfter(int userId, Cursor after, int size) {
+        PageRequest pageable = PageRequest.of(0, size + 1);
+        return after != null
+                ? commentRepository.findCommentsByUserIdAfter(userId, after.creationDateTime(), after.id(), pageable)
+                : commentRepository.findCommentsByUserId(userId, pageable);
+    }
+
     public boolean existsCommentById(int id) {
         return commentRepository.existsCommentById(id);
     }
@@ -79,43 +124,78 @@ public class CommentService {
         commentRepository.delete(comment);
     }
 
-    @Transactional
+    public void addToReactionCounters(int id, int likes, int dislikes) {
+        if (likes != 0 || dislikes != 0) {
+            commentRepository.addToReactionCounters(id, likes, dislikes);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<CommentDTO> findCommentsByToiletId(int toiletId) {
-        List<Comment> comments = getCommentsByToiletId(toiletId);
-        return commentMapper.mapCommentDTOS(comments);
+        return getCommentsByToiletId(toiletId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<CommentDTO> findCommentsByToiletId(int toiletId, int page, int size) {
         PageRequest pageable = PageRequest.of(page, size);
-        List<Comment> comments = getCommentsByToiletId(toiletId, pageable);
-        return commentMapper.mapCommentDTOS(comments);
+        return getCommentsByToiletId(toiletId, pageable);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<CommentDTO> findCommentsByToiletIdForUserId(int toiletId, int userId) {
-        List<Comment> comments = getCommentsByToiletIdForUserId(toiletId, userId);
-        return commentMapper.mapCommentDTOS(comments);
+        return getCommentsByToiletIdForUserId(toiletId, userId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<CommentDTO> findCommentsByToiletIdForUserId(int toiletId, int userId, int page, int size) {
         PageRequest pageable = PageRequest.of(page, size);
-        List<Comment> comments = getCommentsByToiletIdForUserId(toiletId, userId, pageable);
-        return commentMapper.mapCommentDTOS(comments);
+        return getCommentsByToiletIdForUserId(toiletId, userId, pageable);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<CommentDTO> findCommentsByUserId(int userId) {
-        List<Comment> comments = getCommentsByUserId(userId);
-        return commentMapper.mapCommentDTOS(comments);
+        return getCommentsByUserId(userId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<CommentDTO> findCommentsByUserId(int userId, int page, int size) {
         PageRequest pageable = PageRequest.of(page, size);
-        List<Comment> comments = getCommentsByUserId(userId, pageable);
-        return commentMapper.mapCommentDTOS(comments);
+        return getCommentsByUserId(userId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorResponse<CommentDTO> findCommentsByToiletIdByCursor(int toiletId, String cursor, int size) {
+        Cursor after = decodeCommentCursor(cursor, size, false);
+        List<CommentDTO> comments = getCommentsByToiletIdAfter(toiletId, after, size);
+        return CursorResponse.of(comments, size, Function.identity(),
+                comment -> Cursor.of(comment.getDatetime(), comment.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorResponse<CommentDTO> findCommentsByToiletIdForUserIdByCursor(int toiletId, int userId, String cursor, int size) {
+        Cursor after = decodeCommentCursor(cursor, size, true);
+        List<CommentDTO> comments = getCommentsByToiletIdForUserIdAfter(toiletId, userId, after, size);
+        return CursorResponse.of(comments, size, Function.identity(),
+                comment -> Cursor.of(comment.getUserId() == userId ? OWN_COMMENTS_RANK : OTHER_COMMENTS_RANK, comment.getDatetime(), comment.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorResponse<CommentDTO> findCommentsByUserIdByCursor(int userId, String cursor, int size) {
+        Cursor after = decodeCommentCursor(cursor, size, false);
+        List<CommentDTO> comments = getCommentsByUserIdAfter(userId, after, size);
+        return CursorResponse.of(comments, size, Function.identity(),
+                comment -> Cursor.of(comment.getDatetime(), comment.getId()));
+    }
+
+    private Cursor decodeCommentCursor(String cursor, int size, boolean ranked) {
+        if (size <= 0) {
+            throw new BadRequestException("Size must be greater than zero.");
+        }
+        Cursor after = Cursor.decode(cursor);
+        if (after != null && (after.creationDateTime() == null || ranked != (after.rank() != null))) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+        return after;
     }
 
     @Transactional
@@ -135,6 +215,8 @@ public class CommentService {
         comment.setScore(0);
 
         Comment savedComment = saveComment(comment);
+        toiletStatsService.addComment(savedComment);
+        toiletVersionService.markToiletChanged(toilet.getId());
 
         return commentMapper.mapCommentDTO(savedComment);
     }
@@ -143,6 +225,8 @@ public class CommentService {
     public ResponseEntity<ApiResponse> removeComment(int id) {
         Comment comment = getCommentById(id);
 
+        toiletVersionService.markToiletChanged(comment.getInteraction().getToilet().getId());
+        toiletStatsService.removeComment(comment);
         deleteComment(comment);
 
         ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "Comment removed successfully");
@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pt.iade.ei.thinktoilet.caches.ReferenceDataCache;
 import pt.iade.ei.thinktoilet.exceptions.DatabaseSaveException;
 import pt.iade.ei.thinktoilet.exceptions.NotFoundException;
 import pt.iade.ei.thinktoilet.models.dtos.ReactionDTO;
@@ -16,7 +17,6 @@ import pt.iade.ei.thinktoilet.models.mappers.ReactionMapper;
 import pt.iade.ei.thinktoilet.models.requests.ReactionRequest;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
 import pt.iade.ei.thinktoilet.repositories.ReactionRepository;
-import pt.iade.ei.thinktoilet.repositories.TypeReactionRepository;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -27,7 +27,7 @@ public class ReactionService {
     @Autowired
     private ReactionRepository reactionRepository;
     @Autowired
-    private TypeReactionRepository typeReactionRepository;
+    private ReferenceDataCache referenceDataCache;
     @Autowired
     private CommentService commentService;
     @Autowired
@@ -35,16 +35,23 @@ public class ReactionService {
     @Autowired
     private ReactionMapper reactionMapper;
 
+    private static final String LIKE = "like";
+    private static final String DISLIKE = "dislike";
+
     public Reaction getReactionByCommentIdAndUserId(int commentId, int userId) {
         return reactionRepository.findReactionByCommentIdAndUserId(commentId, userId);
     }
 
+    public Reaction getReactionByCommentIdAndUserIdForUpdate(int commentId, int userId) {
+        return reactionRepository.findReactionByCommentIdAndUserIdForUpdate(commentId, userId);
+    }
+
     public List<Reaction> getReactionByUserIdAndCommentIds(int userId, List<Integer> commentIds) {
         return reactionRepository.findReactionsByUser_IdAndComment_IdIn(userId, commentIds);
     }
 
     public TypeReaction getTypeReactionByTechnicalName(String technicalName) {
-        return Optional.ofNullable(typeReactionRepository.findTypeReactionByTechnicalName(technicalName))
+        return Optional.ofNullable(referenceDataCache.getTypeReaction(technicalName))
                 .orElseThrow(() -> new NotFoundException(technicalName, "TypeReaction", "technical name"));
     }
 
@@ -57,7 +64,7 @@ public class ReactionService {
         reactionRepository.delete(reaction);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<ReactionDTO> findReactionsByUserId(int userId, List<Integer> commentIds) {
         if (!userService.existsUserById(userId)) {
             throw new NotFoundException(String.valueOf(userId), "User", "id");
@@ -69,11 +76,11 @@ public class ReactionService {
 
     @Transactional
     public ResponseEntity<ApiResponse> addReaction(ReactionRequest request) {
-        Comment comment = commentService.getCommentById(request.getCommentId());
+        Comment comment = commentService.getCommentByIdForUpdate(request.getCommentId());
         User user = userService.getUserById(request.getUserId());
         TypeReaction typeReaction = getTypeReactionByTechnicalName(request.getTypeReaction());
 
-        Reaction reaction = Optional.ofNullable(getReactionByCommentIdAndUserId(comment.getId(), user.getId()))
+        Reaction reaction = Optional.ofNullable(getReactionByCommentIdAndUserIdForUpdate(comment.getId(), user.getId()))
                 .orElseGet(() -> {
                     Reaction newReaction = new Reaction();
                     newReaction.setComment(comment);
@@ -81,10 +88,12 @@ public class ReactionService {
                     return newReaction;
                 });
 
+        TypeReaction previousTypeReaction = reaction.getTypeReaction();
         reaction.setTypeReaction(typeReaction);
         reaction.setCreationDate(LocalDate.now());
 
         saveReaction(reaction);
+        updateReactionCounters(comment.getId(), previousTypeReaction, typeReaction);
 
         ApiResponse response = new ApiResponse(HttpStatus.CREATED.value(), "Reaction added successfully");
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -92,17 +101,27 @@ public class ReactionService {
 
     @Transactional
     public ResponseEntity<ApiResponse> removeReaction(int commentId, int userId) {
-        if(!commentService.existsCommentById(commentId)) {
-            throw new NotFoundException(String.valueOf(commentId), "Comment", "id");
-        }
+        commentService.getCommentByIdForUpdate(commentId);
         if(!userService.existsUserById(userId)) {
             throw new NotFoundException(String.valueOf(userId), "User", "id");
         }
-        Reaction reaction = getReactionByCommentIdAndUserId(commentId, userId);
+        Reaction reaction = Optional.ofNullable(getReactionByCommentIdAndUserIdForUpdate(commentId, userId))
+                .orElseThrow(() -> new NotFoundException(String.valueOf(commentId), "Reaction", "comment id"));
 
         deleteReaction(reaction);
+        updateReactionCounters(commentId, reaction.getTypeReaction(), null);
 
         ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "Reaction deleted successfully");
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
+
+    private void updateReactionCounters(int commentId, TypeReaction previous, TypeReaction current) {
+        int likes = countTypeReaction(current, LIKE) - countTypeReaction(previous, LIKE);
+        int dislikes = countTypeReaction(current, DISLIKE) - countTypeReaction(previous, DISLIKE);
+        commentService.addToReactionCounters(commentId, likes, dislikes);
+    }
+
+    private int countTypeReaction(TypeReaction typeReaction, String technicalName) {
+        return typeReaction != null && technicalName.equals(typeReaction.getTechnicalName()) ? 1 : 0;
+    }
 }
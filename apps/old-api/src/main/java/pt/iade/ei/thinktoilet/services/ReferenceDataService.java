@@ -0,0 +1,37 @@
+package pt.iade.ei.thinktoilet.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pt.iade.ei.thinktoilet.caches.ReferenceDataCache;
+import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class ReferenceDataService {
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private ToiletVersionService toiletVersionService;
+
+    @Transactional
+    public ResponseEntity<ApiResponse> reload() {
+        Map<Integer, String> previousAccessNames = referenceDataCache.getAccessNames();
+        referenceDataCache.reload();
+        Map<Integer, String> accessNames = referenceDataCache.getAccessNames();
+        List<Integer> changedAccessIds = Stream.concat(previousAccessNames.keySet().stream(), accessNames.keySet().stream())
+                .distinct()
+                .filter(id -> !Objects.equals(previousAccessNames.get(id), accessNames.get(id)))
+                .toList();
+        toiletVersionService.markToiletsWithAccessChanged(changedAccessIds);
+
+        ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "Reference data reloaded successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+}
@@ -5,13 +5,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pt.iade.ei.thinktoilet.caches.ReferenceDataCache;
 import pt.iade.ei.thinktoilet.exceptions.DatabaseSaveException;
 import pt.iade.ei.thinktoilet.exceptions.NotFoundException;
 import pt.iade.ei.thinktoilet.models.entities.*;
 import pt.iade.ei.thinktoilet.models.requests.ReportRequest;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
 import pt.iade.ei.thinktoilet.repositories.ReportRepository;
-import pt.iade.ei.thinktoilet.repositories.TypeReportRepository;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -23,11 +23,13 @@ public class ReportService {
     @Autowired
     private ToiletService toiletService;
     @Autowired
+    private ToiletVersionService toiletVersionService;
+    @Autowired
     private UserService userService;
     @Autowired
     private InteractionService interactionService;
     @Autowired
-    private TypeReportRepository typeReportRepository;
+    private ReferenceDataCache referenceDataCache;
 
     public Report getReportByInteractionId(int interactionId) {
         return Optional.ofNullable(reportRepository.findReportByInteraction_Id(interactionId))
@@ -35,7 +37,7 @@ public class ReportService {
     }
 
     public TypeReport getTypeReportByTechnicalName(String technicalName) {
-        return Optional.ofNullable(typeReportRepository.findTypeReportByTechnicalName(technicalName))
+        return Optional.ofNullable(referenceDataCache.getTypeReport(technicalName))
                 .orElseThrow(() -> new NotFoundException(technicalName, "TypeReport", "technical name"));
     }
 
@@ -66,6 +68,7 @@ public class ReportService {
         report.setCreationDate(LocalDate.now());
 
         saveReport(report);
+        toiletVersionService.markToiletChanged(toilet.getId());
 
         ApiResponse response = new ApiResponse(HttpStatus.CREATED.value(), "Report added successfully");
         return new ResponseEntity<>(response, HttpStatus.CREATED);
@@ -83,6 +86,7 @@ public class ReportService {
         Report report = getReportByInteractionId(interaction.getId());
 
         deleteReport(report);
+        toiletVersionService.markToiletChanged(toiletId);
 
         ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "Report removed successfully");
         return new ResponseEntity<>(response, HttpStatus.OK);
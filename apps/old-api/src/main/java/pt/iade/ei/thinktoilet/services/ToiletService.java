@@ -1,6 +1,9 @@
 package pt.iade.ei.thinktoilet.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageRequest;
@@ -10,20 +13,36 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import pt.iade.ei.thinktoilet.caches.ToiletDTOCache;
+import pt.iade.ei.thinktoilet.exceptions.BadRequestException;
 import pt.iade.ei.thinktoilet.exceptions.NotFoundException;
+import pt.iade.ei.thinktoilet.indexes.ToiletSearchIndex;
+import pt.iade.ei.thinktoilet.indexes.ToiletSpatialIndex;
+import pt.iade.ei.thinktoilet.models.dtos.ToiletClusterDTO;
 import pt.iade.ei.thinktoilet.models.dtos.ToiletDTO;
+import pt.iade.ei.thinktoilet.models.dtos.ToiletMarkerDTO;
 import pt.iade.ei.thinktoilet.models.entities.Toilet;
+import pt.iade.ei.thinktoilet.models.filters.ToiletFilter;
 import pt.iade.ei.thinktoilet.models.mappers.ToiletMapper;
+import pt.iade.ei.thinktoilet.models.projections.ToiletMarker;
+import pt.iade.ei.thinktoilet.models.projections.ToiletVersion;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.models.response.CursorResponse;
+import pt.iade.ei.thinktoilet.models.response.TileResponse;
+import pt.iade.ei.thinktoilet.models.response.ToiletMarkersResponse;
 import pt.iade.ei.thinktoilet.models.views.SearchToilet;
 import pt.iade.ei.thinktoilet.repositories.SearchToiletRepository;
 import pt.iade.ei.thinktoilet.repositories.ToiletRepository;
+import pt.iade.ei.thinktoilet.repositories.UserReportToiletRepository;
+import pt.iade.ei.thinktoilet.utils.BoundingBox;
+import pt.iade.ei.thinktoilet.utils.Cursor;
+import pt.iade.ei.thinktoilet.utils.GeoUtils;
 
 import java.io.File;
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.function.Predicate;
 
 @Service
 public class ToiletService {
@@ -36,62 +55,40 @@ public class ToiletService {
     @Autowired
     private SearchToiletRepository searchToiletRepository;
     @Autowired
+    private UserReportToiletRepository userReportToiletRepository;
+    @Autowired
+    private ToiletSpatialIndex toiletSpatialIndex;
+    @Autowired
+    private ToiletSearchIndex toiletSearchIndex;
+    @Autowired
     private ToiletMapper toiletMapper;
+    @Autowired
+    private ToiletDTOCache toiletDTOCache;
+    @Autowired
+    private ToiletVersionService toiletVersionService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${thinktoilet.toilet-stream.chunk-size:500}")
+    private int streamChunkSize;
+    @Value("${thinktoilet.tiles.marker-zoom:14}")
+    private int tileMarkerZoom;
+    @Value("${thinktoilet.tiles.cluster-grid:8}")
+    private int tileClusterGrid;
 
     private static final String IMAGE_DIR = "/images/";
+    private static final String TILE_STATE = "active";
+    private static final int MAX_TILE_ZOOM = 22;
+    private static final int HYDRATION_CHUNK_SIZE = 1000;
 
-    public List<Toilet> getToilets(String stateTechnicalName, Integer userId) {
-        if (stateTechnicalName != null) {
-            if (userId != null) {
-                if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                    throw new NotFoundException(stateTechnicalName, "State", "technical name");
-                }
-                if (!userService.existsUserById(userId)) {
-                    throw new NotFoundException(String.valueOf(userId), "User", "id");
-                }
-                return toiletRepository.findToiletsByStateTechnicalNameAndForUserId(stateTechnicalName, userId);
-            }
-
-            if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                throw new NotFoundException(stateTechnicalName, "State", "technical name");
-            }
-            return toiletRepository.findToiletsByStateTechnicalName(stateTechnicalName);
-        }
-
-        if (userId != null) {
-            if (!userService.existsUserById(userId)) {
-                throw new NotFoundException(String.valueOf(userId), "User", "id");
-            }
-            return toiletRepository.findToiletsForUserId(userId);
-        }
-        return toiletRepository.findToilets();
+    public List<ToiletVersion> getToiletVersions(String stateTechnicalName, Integer userId, Pageable pageable) {
+        ToiletFilter filter = createFilter(stateTechnicalName, userId);
+        return toiletRepository.findToiletVersions(filter, pageable);
     }
 
-    public List<Toilet> getToilets(String stateTechnicalName, Integer userId, Pageable pageable) {
-        if (stateTechnicalName != null) {
-            if (userId != null) {
-                if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                    throw new NotFoundException(stateTechnicalName, "State", "technical name");
-                }
-                if (!userService.existsUserById(userId)) {
-                    throw new NotFoundException(String.valueOf(userId), "User", "id");
-                }
-                return toiletRepository.findToiletsByStateTechnicalNameAndForUserId(stateTechnicalName, userId, pageable);
-            }
-
-            if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                throw new NotFoundException(stateTechnicalName, "State", "technical name");
-            }
-            return toiletRepository.findToiletsByStateTechnicalName(stateTechnicalName, pageable);
-        }
-
-        if (userId != null) {
-            if (!userService.existsUserById(userId)) {
-                throw new NotFoundException(String.valueOf(userId), "User", "id");
-            }
-            return toiletRepository.findToiletsForUserId(userId, pageable);
-        }
-        return toiletRepository.findToilets(pageable);
+    public List<ToiletVersion> getToiletVersionsAfter(String stateTechnicalName, Integer userId, Cursor after, int size) {
+        ToiletFilter filter = createFilter(stateTechnicalName, userId);
+        filter.setAfterId(after != null ? after.id() : null);
+        return toiletRepository.findToiletVersions(filter, PageRequest.of(0, size + 1));
     }
 
     public Toilet getToiletById(int id) {
@@ -99,180 +96,335 @@ public class ToiletService {
                 .orElseThrow(() -> new NotFoundException(String.valueOf(id), "Toilet", "id"));
     }
 
-    public List<Toilet> getToiletsByIds(Collection<Integer> ids) {
-        return toiletRepository.findToiletsByIds(ids);
+    public ToiletVersion getToiletVersionById(int id) {
+        return toiletRepository.findToiletVersionsByIds(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException(String.valueOf(id), "Toilet", "id"));
     }
 
-    public List<Toilet> getToiletsNearby(String stateTechnicalName, double lat, double lon, Integer userId) {
-        if (stateTechnicalName != null) {
-            if (userId != null) {
-                if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                    throw new NotFoundException(stateTechnicalName, "State", "technical name");
-                }
-                if (!userService.existsUserById(userId)) {
-                    throw new NotFoundException(String.valueOf(userId), "User", "id");
-                }
-                return toiletRepository.findToiletsByDistanceAndStateAndForUserId(stateTechnicalName, lat, lon, userId);
-            }
-
-            if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                throw new NotFoundException(stateTechnicalName, "State", "technical name");
-            }
-            return toiletRepository.findToiletsByDistanceAndState(stateTechnicalName, lat, lon);
+    public List<ToiletVersion> getToiletVersionsNearby(String stateTechnicalName, double lat, double lon, Integer userId, Pageable pageable) {
+        if (toiletSpatialIndex.isReady()) {
+            return getToiletVersionsByIdsInOrder(getToiletIdsNearbyFromIndex(stateTechnicalName, lat, lon, null, userId, pageable));
         }
 
-        if (userId != null) {
-            if (!userService.existsUserById(userId)) {
-                throw new NotFoundException(String.valueOf(userId), "User", "id");
-            }
-            return toiletRepository.findToiletsByDistanceAndForUserId(lat, lon, userId);
-        }
-        return toiletRepository.findToiletsByDistance(lat, lon);
+        ToiletFilter filter = createFilter(stateTechnicalName, userId);
+        filter.setLatitude(lat);
+        filter.setLongitude(lon);
+        return toiletRepository.findToiletVersions(filter, pageable);
     }
 
-    public List<Toilet> getToiletsNearby(String stateTechnicalName, double lat, double lon, Integer userId, Pageable pageable) {
-        if (stateTechnicalName != null) {
-            if (userId != null) {
-                if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                    throw new NotFoundException(stateTechnicalName, "State", "technical name");
-                }
-                if (!userService.existsUserById(userId)) {
-                    throw new NotFoundException(String.valueOf(userId), "User", "id");
-                }
-                return toiletRepository.findToiletsByDistanceAndStateAndForUserId(stateTechnicalName, lat, lon, userId, pageable);
-            }
-
-            if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                throw new NotFoundException(stateTechnicalName, "State", "technical name");
-            }
-            return toiletRepository.findToiletsByDistanceAndState(stateTechnicalName, lat, lon, pageable);
+    public List<ToiletVersion> getToiletVersionsWithinRadius(String stateTechnicalName, double lat, double lon, double radiusKm, Integer userId, Pageable pageable) {
+        validateRadius(radiusKm);
+        if (toiletSpatialIndex.isReady()) {
+            return getToiletVersionsByIdsInOrder(getToiletIdsNearbyFromIndex(stateTechnicalName, lat, lon, radiusKm, userId, pageable));
         }
 
-        if (userId != null) {
-            if (!userService.existsUserById(userId)) {
-                throw new NotFoundException(String.valueOf(userId), "User", "id");
-            }
-            return toiletRepository.findToiletsByDistanceAndForUserId(lat, lon, userId, pageable);
+        ToiletFilter filter = createFilter(stateTechnicalName, userId);
+        filter.setLatitude(lat);
+        filter.setLongitude(lon);
+        filter.setRadiusKm(radiusKm);
+        filter.setBoundingBox(GeoUtils.boundingBox(lat, lon, radiusKm));
+        return toiletRepository.findToiletVersions(filter, pageable);
+    }
+
+    private List<Integer> getToiletIdsNearbyFromIndex(String stateTechnicalName, double lat, double lon, Double radiusKm, Integer userId, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        if (radiusKm != null) {
+            validateRadius(radiusKm);
         }
-        return toiletRepository.findToiletsByDistance(lat, lon, pageable);
+        validateStateAndUser(stateTechnicalName, userId);
+        Set<Integer> reportedIds = userId != null
+                ? new HashSet<>(userReportToiletRepository.findToiletIdsByUserId(userId))
+                : Set.of();
+
+        int limit = (int) Math.min(Integer.MAX_VALUE, offset + size);
+        Predicate<ToiletSpatialIndex.Entry> filter = entry ->
+                (stateTechnicalName == null || stateTechnicalName.equals(entry.state())) && !reportedIds.contains(entry.id());
+        List<ToiletSpatialIndex.Neighbour> neighbours = radiusKm != null
+                ? toiletSpatialIndex.findWithinRadius(lat, lon, radiusKm, limit, filter)
+                : toiletSpatialIndex.findNearest(lat, lon, limit, filter);
+
+        return neighbours.stream()
+                .skip(offset)
+                .map(neighbour -> neighbour.entry().id())
+                .toList();
     }
 
-    public List<Toilet> getToiletsByUserId(String stateTechnicalName, int userId) {
-        if (stateTechnicalName != null) {
-            if (!userService.existsUserById(userId)) {
-                throw new NotFoundException(String.valueOf(userId), "User", "id");
-            }
-            if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                throw new NotFoundException(stateTechnicalName, "State", "technical name");
-            }
-            return toiletRepository.findToiletsByUserIdAndState(stateTechnicalName, userId);
+    private void validateRadius(double radiusKm) {
+        if (radiusKm <= 0) {
+            throw new BadRequestException("Radius must be greater than zero.");
         }
+    }
 
-        if (!userService.existsUserById(userId)) {
+    private void validateStateAndUser(String stateTechnicalName, Integer userId) {
+        if (stateTechnicalName != null && !stateService.existsStateByTechnicalName(stateTechnicalName)) {
+            throw new NotFoundException(stateTechnicalName, "State", "technical name");
+        }
+        if (userId != null && !userService.existsUserById(userId)) {
             throw new NotFoundException(String.valueOf(userId), "User", "id");
         }
-        return toiletRepository.findToiletsByUserId(userId);
     }
 
-    public List<Toilet> getToiletsByUserId(String stateTechnicalName, int userId, Pageable pageable) {
+    public ToiletFilter createFilter(String stateTechnicalName, Integer userId) {
+        validateStateAndUser(stateTechnicalName, userId);
+        ToiletFilter filter = new ToiletFilter();
         if (stateTechnicalName != null) {
-            if (!userService.existsUserById(userId)) {
-                throw new NotFoundException(String.valueOf(userId), "User", "id");
-            }
-            if (!stateService.existsStateByTechnicalName(stateTechnicalName)) {
-                throw new NotFoundException(stateTechnicalName, "State", "technical name");
-            }
-            return toiletRepository.findToiletsByUserIdAndState(stateTechnicalName, userId, pageable);
+            filter.setStateId(stateService.getStateByTechnicalName(stateTechnicalName).getId());
         }
+        filter.setNotReportedByUserId(userId);
+        return filter;
+    }
 
+    private List<ToiletVersion> getToiletVersionsByIdsInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, ToiletVersion> versions = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += HYDRATION_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + HYDRATION_CHUNK_SIZE));
+            toiletRepository.findToiletVersionsByIds(chunk)
+                    .forEach(version -> versions.put(version.id(), version));
+        }
+        return ids.stream()
+                .map(versions::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public List<ToiletVersion> getToiletVersionsByUserId(String stateTechnicalName, int userId) {
+        return getToiletVersionsByUserId(stateTechnicalName, userId, Pageable.unpaged());
+    }
+
+    public List<ToiletVersion> getToiletVersionsByUserId(String stateTechnicalName, int userId, Pageable pageable) {
         if (!userService.existsUserById(userId)) {
             throw new NotFoundException(String.valueOf(userId), "User", "id");
         }
-        return toiletRepository.findToiletsByUserId(userId, pageable);
+        ToiletFilter filter = createFilter(stateTechnicalName, null);
+        filter.setInteractedByUserId(userId);
+        return toiletRepository.findToiletVersions(filter, pageable);
     }
 
     public List<SearchToilet> getSearchToilets(String query) {
+        if (toiletSearchIndex.isReady()) {
+            return getSearchToiletsFromIndex(query, Pageable.unpaged());
+        }
         return searchToiletRepository.searchToilets(query);
     }
 
     public List<SearchToilet> getSearchToilets(String query, Pageable pageable) {
+        if (toiletSearchIndex.isReady()) {
+            return getSearchToiletsFromIndex(query, pageable);
+        }
         return searchToiletRepository.searchToilets(query, pageable);
     }
 
-    public List<Toilet> getToiletsByBoundingBox(double maxLat, double minLat, double maxLon, double minLon) {
-        return toiletRepository.findToiletsByBoundingBox(maxLat, minLat, maxLon, minLon);
+    private List<SearchToilet> getSearchToiletsFromIndex(String query, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        int limit = (int) Math.min(Integer.MAX_VALUE, offset + size);
+        return toiletSearchIndex.search(query, limit).stream()
+                .skip(offset)
+                .map(match -> new SearchToilet(match.entry().id(), match.entry().name()))
+                .toList();
+    }
+
+    public List<ToiletVersion> getToiletVersionsByBoundingBox(BoundingBox boundingBox) {
+        ToiletFilter filter = createFilter("active", null);
+        filter.setBoundingBox(boundingBox);
+        return toiletRepository.findToiletVersions(filter, Pageable.unpaged());
+    }
+
+    public List<ToiletMarker> getToiletMarkersByBoundingBox(BoundingBox boundingBox) {
+        ToiletFilter filter = createFilter("active", null);
+        filter.setBoundingBox(boundingBox);
+        return toiletRepository.findToiletMarkers(filter);
+    }
+
+    public List<ToiletSpatialIndex.Entry> getToiletLocationsWithinBox(String stateTechnicalName, BoundingBox boundingBox) {
+        ToiletFilter filter = createFilter(stateTechnicalName, null);
+        filter.setBoundingBox(boundingBox);
+        return toiletRepository.findToiletLocations(filter).stream()
+                .map(location -> new ToiletSpatialIndex.Entry(location.id(), location.latitude(), location.longitude(), location.state()))
+                .toList();
     }
 
     public boolean existsToiletById(int id) {
         return toiletRepository.existsToiletById(id);
     }
 
-    @Transactional
-    public List<ToiletDTO> findToilets(String stateTechnicalName, Integer userId) {
-        List<Toilet> toilets = getToilets(stateTechnicalName, userId);
-        return toiletMapper.mapToiletDTOS(toilets);
+    @Transactional(readOnly = true)
+    public void writeToilets(ToiletFilter filter, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            List<ToiletVersion> chunk;
+            do {
+                chunk = toiletRepository.findToiletVersions(filter, PageRequest.of(0, streamChunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                List<Integer> ids = chunk.stream().map(ToiletVersion::id).toList();
+                Map<Integer, ToiletDTO> toilets = new HashMap<>();
+                toiletMapper.mapToiletSummaries(toiletRepository.findToiletSummariesByIds(ids))
+                        .forEach(toilet -> toilets.put(toilet.getId(), toilet));
+                for (Integer id : ids) {
+                    ToiletDTO toiletDTO = toilets.get(id);
+                    if (toiletDTO != null) {
+                        objectMapper.writeValue(generator, toiletDTO);
+                    }
+                }
+                generator.flush();
+                filter.setAfterId(ids.get(ids.size() - 1));
+            } while (chunk.size() == streamChunkSize);
+            generator.writeEndArray();
+        }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<ToiletDTO> findToilets(String stateTechnicalName, Integer userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        List<Toilet> toilets = getToilets(stateTechnicalName, userId, pageable);
-        return toiletMapper.mapToiletDTOS(toilets);
+        List<ToiletVersion> toilets = getToiletVersions(stateTechnicalName, userId, pageable);
+        return findToilets(toilets);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorResponse<ToiletDTO> findToiletsByCursor(String stateTechnicalName, Integer userId, String cursor, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Size must be greater than zero.");
+        }
+        List<ToiletVersion> toilets = getToiletVersionsAfter(stateTechnicalName, userId, Cursor.decode(cursor), size);
+        return CursorResponse.of(toilets, size, this::findToilets, toilet -> Cursor.of(toilet.id()));
+    }
+
+    @Transactional(readOnly = true)
     public ToiletDTO findToiletById(int id) {
-        Toilet toilet = getToiletById(id);
-        return toiletMapper.mapToiletDTO(toilet);
+        return findToiletsByIdsInOrder(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException(String.valueOf(id), "Toilet", "id"));
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<ToiletDTO> findToiletsByIds(Collection<Integer> ids) {
-        List<Toilet> toilets = getToiletsByIds(ids);
-        return toiletMapper.mapToiletDTOS(toilets);
+        return findToiletsByIdsInOrder(ids.stream().distinct().toList());
     }
 
-    @Transactional
-    public List<ToiletDTO> findToiletsNearby(String stateTechnicalName, double lat, double lon, Integer userId) {
-        List<Toilet> toilets = getToiletsNearby(stateTechnicalName, lat, lon, userId);
-        return toiletMapper.mapToiletDTOS(toilets);
+    @Transactional(readOnly = true)
+    public ToiletVersion findToiletVersionById(int id) {
+        return getToiletVersionById(id);
     }
 
-    @Transactional
-    public List<ToiletDTO> findToiletsNearby(String stateTechnicalName, double lat, double lon, Integer userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        List<Toilet> toilets = getToiletsNearby(stateTechnicalName, lat, lon, userId, pageable);
-        return toiletMapper.mapToiletDTOS(toilets);
+    @Transactional(readOnly = true)
+    public List<ToiletVersion> findToiletVersionsNearby(String stateTechnicalName, double lat, double lon, Double radiusKm, Integer userId) {
+        return findToiletVersionsNearby(stateTechnicalName, lat, lon, radiusKm, userId, Pageable.unpaged());
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    public List<ToiletVersion> findToiletVersionsNearby(String stateTechnicalName, double lat, double lon, Double radiusKm, Integer userId, int page, int size) {
+        return findToiletVersionsNearby(stateTechnicalName, lat, lon, radiusKm, userId, PageRequest.of(page, size));
+    }
+
+    private List<ToiletVersion> findToiletVersionsNearby(String stateTechnicalName, double lat, double lon, Double radiusKm, Integer userId, Pageable pageable) {
+        return radiusKm != null
+                ? getToiletVersionsWithinRadius(stateTechnicalName, lat, lon, radiusKm, userId, pageable)
+                : getToiletVersionsNearby(stateTechnicalName, lat, lon, userId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ToiletDTO> findToiletsNearby(List<ToiletVersion> toilets, double lat, double lon) {
+        return withDistances(findToilets(toilets), lat, lon);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ToiletDTO> findToilets(List<ToiletVersion> toilets) {
+        return findToiletsByIdsInOrder(toilets.stream().map(ToiletVersion::id).toList());
+    }
+
+    private List<ToiletDTO> findToiletsByIdsInOrder(List<Integer> ids) {
+        Map<Integer, ToiletDTO> toilets = new HashMap<>(toiletDTOCache.getAll(ids));
+        List<Integer> missingIds = ids.stream()
+                .filter(id -> !toilets.containsKey(id))
+                .toList();
+        boolean cacheable = ids.size() <= HYDRATION_CHUNK_SIZE;
+        for (int from = 0; from < missingIds.size(); from += HYDRATION_CHUNK_SIZE) {
+            List<Integer> chunk = missingIds.subList(from, Math.min(missingIds.size(), from + HYDRATION_CHUNK_SIZE));
+            List<ToiletDTO> loaded = toiletMapper.mapToiletSummaries(toiletRepository.findToiletSummariesByIds(chunk));
+            if (cacheable) {
+                toiletDTOCache.putAll(loaded);
+            }
+            loaded.forEach(toilet -> toilets.put(toilet.getId(), toilet));
+        }
+        return ids.stream()
+                .map(toilets::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<ToiletDTO> withDistances(List<ToiletDTO> toilets, double lat, double lon) {
+        return toilets.stream()
+                .map(toilet -> toilet.withDistance(GeoUtils.distanceKm(lat, lon, toilet.getLatitude(), toilet.getLongitude())))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
     public List<ToiletDTO> findToiletsByUserId(String stateTechnicalName, int userId) {
-        List<Toilet> toilets = getToiletsByUserId(stateTechnicalName, userId);
-        return toiletMapper.mapToiletDTOS(toilets);
+        List<ToiletVersion> toilets = getToiletVersionsByUserId(stateTechnicalName, userId);
+        return findToilets(toilets);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<ToiletDTO> findToiletsByUserId(String stateTechnicalName, int userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        List<Toilet> toilets = getToiletsByUserId(stateTechnicalName, userId, pageable);
-        return toiletMapper.mapToiletDTOS(toilets);
+        List<ToiletVersion> toilets = getToiletVersionsByUserId(stateTechnicalName, userId, pageable);
+        return findToilets(toilets);
     }
 
-    @Transactional
     public List<SearchToilet> searchToilets(String query) {
         return getSearchToilets(query);
     }
 
-    @Transactional
     public List<SearchToilet> searchToilets(String query, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         return getSearchToilets(query, pageable);
     }
 
-    @Transactional
-    public List<ToiletDTO> findToiletsByBoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
-        List<Toilet> toilets = getToiletsByBoundingBox(minLat, maxLat, minLon, maxLon);
-        return toiletMapper.mapToiletDTOS(toilets);
+    @Transactional(readOnly = true)
+    public List<ToiletVersion> findToiletVersionsByBoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+        return getToiletVersionsByBoundingBox(new BoundingBox(minLat, maxLat, minLon, maxLon));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ToiletMarker> findToiletMarkersByBoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+        return getToiletMarkersByBoundingBox(new BoundingBox(minLat, maxLat, minLon, maxLon));
+    }
+
+    public ToiletMarkersResponse mapToiletMarkers(List<ToiletMarker> markers) {
+        return toiletMapper.mapToiletMarkers(markers);
+    }
+
+    @Transactional(readOnly = true)
+    public TileResponse findTile(int z, int x, int y) {
+        if (z < 0 || z > MAX_TILE_ZOOM || x < 0 || y < 0 || x >= 1 << z || y >= 1 << z) {
+            throw new BadRequestException("Invalid tile coordinates.");
+        }
+        BoundingBox box = GeoUtils.tileBoundingBox(z, x, y);
+        boolean indexed = toiletSpatialIndex.isReady();
+        List<ToiletSpatialIndex.Entry> locations = indexed ? null : getToiletLocationsWithinBox(TILE_STATE, box);
+
+        if (z >= tileMarkerZoom) {
+            List<ToiletSpatialIndex.Entry> visible = indexed
+                    ? toiletSpatialIndex.findWithinBox(box, entry -> TILE_STATE.equals(entry.state()))
+                    : locations;
+            return TileResponse.ofMarkers(z, x, y, visible.stream()
+                    .map(entry -> new ToiletMarkerDTO(entry.id(), entry.latitude(), entry.longitude()))
+                    .toList());
+        }
+
+        List<ToiletSpatialIndex.Cluster> clusters = indexed
+                ? toiletSpatialIndex.cluster(box, tileClusterGrid, tileClusterGrid, TILE_STATE)
+                : ToiletSpatialIndex.cluster(locations, box, tileClusterGrid, tileClusterGrid);
+        return TileResponse.ofClusters(z, x, y, clusters.stream()
+                .map(cluster -> new ToiletClusterDTO(cluster.count(), cluster.latitude(), cluster.longitude(), cluster.representativeId()))
+                .toList());
     }
 
     @Transactional
@@ -297,6 +449,7 @@ public class ToiletService {
         } catch (Exception e) {
             throw new NotFoundException(e.getMessage(), "Image", "image");
         }
+        toiletVersionService.markToiletChanged(id);
 
         ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "Image uploaded successfully");
         return ResponseEntity.status(HttpStatus.OK).body(response);
@@ -0,0 +1,77 @@
+package pt.iade.ei.thinktoilet.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pt.iade.ei.thinktoilet.models.dtos.CommentDTO;
+import pt.iade.ei.thinktoilet.models.entities.Comment;
+import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.repositories.CommentRepository;
+import pt.iade.ei.thinktoilet.repositories.ToiletStatsRepository;
+
+import java.util.List;
+
+@Service
+public class ToiletStatsService {
+    private final Logger logger = LoggerFactory.getLogger(ToiletStatsService.class);
+    @Autowired
+    private ToiletStatsRepository toiletStatsRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ToiletVersionService toiletVersionService;
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    public void addComment(Comment comment) {
+        applyComment(comment.getInteraction().getToilet().getId(), comment.getRatingClean(), comment.getRatingStructure(),
+                comment.getRatingAccessibility(), comment.isRatingPaper(), 1);
+    }
+
+    public void removeComment(Comment comment) {
+        applyComment(comment.getInteraction().getToilet().getId(), comment.getRatingClean(), comment.getRatingStructure(),
+                comment.getRatingAccessibility(), comment.isRatingPaper(), -1);
+    }
+
+    public void removeCommentsByUserId(int userId) {
+        List<CommentDTO> comments = commentRepository.findCommentsByUserId(userId);
+        toiletVersionService.markToiletsChanged(comments.stream().map(CommentDTO::getToiletId).distinct().sorted().toList());
+        comments.forEach(comment -> applyComment(comment.getToiletId(), comment.getRatingClean(), comment.getRatingStructure(),
+                comment.getRatingAccessibility(), comment.isRatingPaper(), -1));
+    }
+
+    private void applyComment(int toiletId, int clean, int structure, int accessibility, boolean paper, int sign) {
+        toiletStatsRepository.addToToiletStats(
+                toiletId,
+                sign,
+                sign * clean,
+                sign * structure,
+                sign * accessibility,
+                paper ? sign : 0
+        );
+    }
+
+    @Transactional
+    @Scheduled(cron = "${thinktoilet.toilet-stats.rebuild-cron:0 0 4 * * *}")
+    public void rebuildToiletStats() {
+        List<Integer> staleIds = toiletStatsRepository.findToiletIdsWithStaleStats();
+        for (int from = 0; from < staleIds.size(); from += REBUILD_CHUNK_SIZE) {
+            List<Integer> chunk = staleIds.subList(from, Math.min(staleIds.size(), from + REBUILD_CHUNK_SIZE));
+            toiletVersionService.markToiletsChanged(chunk);
+            toiletStatsRepository.rebuildToiletStats(chunk);
+        }
+        logger.info("Toilet stats rebuilt, {} toilets changed", staleIds.size());
+    }
+
+    @Transactional
+    public ResponseEntity<ApiResponse> rebuild() {
+        rebuildToiletStats();
+        ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "Toilet stats rebuilt successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+}
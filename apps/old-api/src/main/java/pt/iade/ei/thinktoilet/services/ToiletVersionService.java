@@ -0,0 +1,45 @@
+package pt.iade.ei.thinktoilet.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pt.iade.ei.thinktoilet.caches.ToiletDTOCache;
+import pt.iade.ei.thinktoilet.indexes.ToiletIndexLoader;
+import pt.iade.ei.thinktoilet.repositories.ToiletRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class ToiletVersionService {
+    @Autowired
+    private ToiletRepository toiletRepository;
+    @Autowired
+    private ToiletDTOCache toiletDTOCache;
+    @Autowired
+    private ToiletIndexLoader toiletIndexLoader;
+
+    @Transactional
+    public void markToiletChanged(int id) {
+        markToiletsChanged(List.of(id));
+    }
+
+    @Transactional
+    public void markToiletsChanged(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        toiletRepository.incrementVersions(ids);
+        toiletDTOCache.evict(ids);
+        toiletIndexLoader.reindex(ids);
+    }
+
+    @Transactional
+    public void markToiletsWithAccessChanged(Collection<Integer> accessIds) {
+        if (accessIds.isEmpty()) {
+            return;
+        }
+        toiletRepository.incrementVersionsByAccessIds(accessIds);
+        toiletDTOCache.evictAll();
+    }
+}
@@ -2,18 +2,23 @@ package pt.iade.ei.thinktoilet.services;
 
 import jakarta.persistence.Entity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pt.iade.ei.thinktoilet.exceptions.*;
 import pt.iade.ei.thinktoilet.models.dtos.UserDTO;
 import pt.iade.ei.thinktoilet.models.entities.User;
 import pt.iade.ei.thinktoilet.models.mappers.UserMapper;
+import pt.iade.ei.thinktoilet.models.requests.RegisterRequest;
 import pt.iade.ei.thinktoilet.models.response.ApiResponse;
+import pt.iade.ei.thinktoilet.models.response.CursorResponse;
+import pt.iade.ei.thinktoilet.repositories.CommentRepository;
 import pt.iade.ei.thinktoilet.repositories.UserRepository;
+import pt.iade.ei.thinktoilet.utils.Cursor;
 
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -25,12 +30,18 @@ public class UserService {
     @Autowired
     private UserMapper userMapper;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private ToiletStatsService toiletStatsService;
+    @Autowired
+    private CommentRepository commentRepository;
 
     public List<User> getUsers() {
         return userRepository.findUsers();
     }
 
+    public List<User> getUsersAfter(Cursor after, int size) {
+        return userRepository.findUsersAfterId(after != null ? after.id() : 0, PageRequest.of(0, size + 1));
+    }
+
     public List<User> getUsersByIds(Collection<Integer> ids) {
         return userRepository.findUserByIdIn(ids);
     }
@@ -62,41 +73,60 @@ public class UserService {
         userRepository.delete(user);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<UserDTO> findAllUsers() {
         List<User> users = getUsers();
         return userMapper.mapUserDTOS(users);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorResponse<UserDTO> findUsersByCursor(String cursor, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Size must be greater than zero.");
+        }
+        List<User> users = getUsersAfter(Cursor.decode(cursor), size);
+        return CursorResponse.of(users, size, userMapper::mapUserDTOS, user -> Cursor.of(user.getId()));
+    }
+
+    @Transactional(readOnly = true)
     public List<UserDTO> findUsersByIds(Collection<Integer> ids) {
         List<User> users = getUsersByIds(ids);
         return userMapper.mapUserDTOS(users);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDTO findUserById(int id) {
         User user = getUserById(id);
         return userMapper.mapUserDTO(user);
     }
 
     @Transactional
-    public UserDTO editName(int id, String name, String password) {
-        User user = getUserById(id);
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new InvalidPasswordException();
+    public User registerUser(RegisterRequest request, String encodedPassword) {
+        if (existsUserByEmail(request.getEmail())) {
+            throw new EmailAlreadyInUseException();
         }
+        User user = new User();
+        user.setName(request.getName());
+        user.setEmail(request.getEmail());
+        user.setPassword(encodedPassword);
+        user.setPoints(0);
+        user.setIconId(request.getIconId());
+        user.setBirthDate(request.getBirthDate());
+        user.setCreationDate(LocalDate.now());
+        return saveUser(user);
+    }
+
+    @Transactional
+    public UserDTO editName(int id, String name) {
+        User user = getUserById(id);
         user.setName(name);
         User savedUser = saveUser(user);
         return userMapper.mapLoginResponse(savedUser, savedUser.getEmail());
     }
 
     @Transactional
-    public UserDTO editEmail(int id, String email, String password) {
+    public UserDTO editEmail(int id, String email) {
         User user = getUserById(id);
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new InvalidPasswordException();
-        }
         if (existsUserByEmail(email)) {
             throw new EmailAlreadyInUseException();
         }
@@ -106,12 +136,9 @@ public class UserService {
     }
 
     @Transactional
-    public UserDTO editPassword(int id, String newPassword, String password) {
+    public UserDTO editPassword(int id, String encodedPassword) {
         User user = getUserById(id);
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new InvalidPasswordException();
-        }
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(encodedPassword);
         User savedUser = saveUser(user);
         return userMapper.mapLoginResponse(savedUser, savedUser.getEmail());
     }
@@ -128,6 +155,8 @@ public class UserService {
     public ResponseEntity<ApiResponse> removeUser(int id) {
         User user = getUserById(id);
 
+        toiletStatsService.removeCommentsByUserId(id);
+        commentRepository.removeReactionsFromCountersByUserId(id);
         deleteUser(user);
 
         ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "User removed successfully");
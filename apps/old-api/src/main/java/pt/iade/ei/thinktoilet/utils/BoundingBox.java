@@ -0,0 +1,7 @@
+package pt.iade.ei.thinktoilet.utils;
+
+public record BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+    public boolean contains(double lat, double lon) {
+        return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+    }
+}
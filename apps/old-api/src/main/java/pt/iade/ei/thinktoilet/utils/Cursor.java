@@ -0,0 +1,49 @@
+package pt.iade.ei.thinktoilet.utils;
+
+import pt.iade.ei.thinktoilet.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+public record Cursor(int id, LocalDateTime creationDateTime, Integer rank) {
+    private static final String SEPARATOR = "|";
+
+    public static Cursor of(int id) {
+        return new Cursor(id, null, null);
+    }
+
+    public static Cursor of(LocalDateTime creationDateTime, int id) {
+        return new Cursor(id, creationDateTime, null);
+    }
+
+    public static Cursor of(int rank, LocalDateTime creationDateTime, int id) {
+        return new Cursor(id, creationDateTime, rank);
+    }
+
+    public String encode() {
+        String value = id + SEPARATOR
+                + (creationDateTime != null ? creationDateTime : "") + SEPARATOR
+                + (rank != null ? rank : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            return new Cursor(
+                    Integer.parseInt(parts[0]),
+                    parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]),
+                    parts[2].isEmpty() ? null : Integer.parseInt(parts[2])
+            );
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package pt.iade.ei.thinktoilet.utils;
+
+import org.springframework.util.DigestUtils;
+import pt.iade.ei.thinktoilet.models.projections.ToiletMarker;
+import pt.iade.ei.thinktoilet.models.projections.ToiletVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(ToiletVersion toilet) {
+        return of(List.of(toilet));
+    }
+
+    public static String of(List<ToiletVersion> toilets, Object... parameters) {
+        StringBuilder value = new StringBuilder();
+        for (Object parameter : parameters) {
+            value.append(parameter).append('|');
+        }
+        for (ToiletVersion toilet : toilets) {
+            value.append(toilet.id()).append(':').append(toilet.version()).append(';');
+        }
+        return digest(value);
+    }
+
+    public static String ofMarkers(List<ToiletMarker> markers) {
+        StringBuilder value = new StringBuilder("markers|");
+        for (ToiletMarker marker : markers) {
+            value.append(marker.id()).append(':').append(marker.version()).append(';');
+        }
+        return digest(value);
+    }
+
+    private static String digest(CharSequence value) {
+        return "\"" + DigestUtils.md5DigestAsHex(value.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,47 @@
+package pt.iade.ei.thinktoilet.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class GeoCells {
+    public static final int CELLS_PER_DEGREE = 100;
+    private static final int LON_CELLS = 360 * CELLS_PER_DEGREE;
+    private static final int MAX_RANGES = 64;
+
+    private GeoCells() {
+    }
+
+    public record Range(int from, int to) {
+    }
+
+    public static int cell(double lat, double lon) {
+        return row(lat) * LON_CELLS + column(lon);
+    }
+
+    public static List<Range> cover(BoundingBox box) {
+        int minRow = row(box.minLat());
+        int maxRow = row(box.maxLat());
+        int minColumn = column(box.minLon());
+        int maxColumn = Math.min(column(box.maxLon()), LON_CELLS - 1);
+        if (minColumn == 0 && maxColumn == LON_CELLS - 1) {
+            return List.of(new Range(minRow * LON_CELLS, maxRow * LON_CELLS + LON_CELLS - 1));
+        }
+        if (maxRow - minRow + 1 > MAX_RANGES) {
+            return List.of();
+        }
+
+        List<Range> ranges = new ArrayList<>();
+        for (int row = minRow; row <= maxRow; row++) {
+            ranges.add(new Range(row * LON_CELLS + minColumn, row * LON_CELLS + maxColumn));
+        }
+        return ranges;
+    }
+
+    private static int row(double lat) {
+        return (int) Math.floor((lat + 90) * CELLS_PER_DEGREE);
+    }
+
+    private static int column(double lon) {
+        return (int) Math.floor((lon + 180) * CELLS_PER_DEGREE);
+    }
+}
@@ -0,0 +1,232 @@
+package pt.iade.ei.thinktoilet.benchmarks;
+
+import org.springframework.test.util.ReflectionTestUtils;
+import pt.iade.ei.thinktoilet.caches.ReferenceDataCache;
+import pt.iade.ei.thinktoilet.indexes.ToiletSpatialIndex;
+import pt.iade.ei.thinktoilet.models.entities.*;
+import pt.iade.ei.thinktoilet.models.mappers.CommentMapper;
+import pt.iade.ei.thinktoilet.models.mappers.ToiletMapper;
+import pt.iade.ei.thinktoilet.models.mappers.UserMapper;
+import pt.iade.ei.thinktoilet.models.projections.ToiletSummary;
+import pt.iade.ei.thinktoilet.models.views.CountCommentUser;
+import pt.iade.ei.thinktoilet.repositories.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class BenchmarkData {
+    static final double CENTER_LAT = 38.7223;
+    static final double CENTER_LON = -9.1393;
+    private static final String[] EXTRAS = {"baby", "wheel-chair", "free", "shower"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Toilet> toilets(int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        Access access = access();
+        State state = new State();
+        state.setId(1);
+        state.setTechnicalName("active");
+
+        List<Toilet> toilets = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Toilet toilet = new Toilet();
+            toilet.setId(i);
+            toilet.setName("Toilet " + i);
+            toilet.setAddress("Street " + i);
+            toilet.setAccess(access);
+            toilet.setState(state);
+            toilet.setLatitude(CENTER_LAT + random.nextDouble(-0.5, 0.5));
+            toilet.setLongitude(CENTER_LON + random.nextDouble(-0.5, 0.5));
+            toilet.setPlaceId("place-" + i);
+            toilet.setCreationDate(LocalDate.of(2024, 1, 1));
+            toilets.add(toilet);
+        }
+        return toilets;
+    }
+
+    static List<Comment> comments(int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        List<Comment> comments = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Toilet toilet = new Toilet();
+            toilet.setId(random.nextInt(1, size + 1));
+            User user = new User();
+            user.setId(random.nextInt(1, size + 1));
+            Interaction interaction = new Interaction();
+            interaction.setId(i);
+            interaction.setToilet(toilet);
+            interaction.setUser(user);
+
+            Comment comment = new Comment();
+            comment.setId(i);
+            comment.setInteraction(interaction);
+            comment.setText("Comment " + i);
+            comment.setRatingClean(random.nextInt(1, 6));
+            comment.setRatingStructure(random.nextInt(1, 6));
+            comment.setRatingAccessibility(random.nextInt(1, 6));
+            comment.setRatingPaper(random.nextBoolean());
+            comment.setCreationDateTime(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i));
+            comment.setNumLikes(random.nextInt(0, 50));
+            comment.setNumDislikes(random.nextInt(0, 50));
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    static List<User> users(int size) {
+        List<User> users = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@thinktoilet.pt");
+            user.setPoints(i % 100);
+            user.setIconId("icon-" + (i % 10));
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<ToiletSummary> toiletSummaries(List<Toilet> toilets) {
+        List<ToiletSummary> summaries = new ArrayList<>(toilets.size());
+        for (Toilet toilet : toilets) {
+            int id = toilet.getId();
+            int count = id % 7;
+            String extras = id % EXTRAS.length == 0 ? null : String.join(",", Arrays.copyOf(EXTRAS, id % EXTRAS.length));
+            summaries.add(new Summary(id, toilet.getName(), toilet.getAddress(), toilet.getLatitude(), toilet.getLongitude(),
+                    toilet.getPlaceId(), toilet.getAccess().getId(), toilet.getAccess().getTechnicalName(),
+                    count, count * 3, count * 4, count * 2, count / 2, extras));
+        }
+        return summaries;
+    }
+
+    static ToiletMapper toiletMapper() {
+        ToiletMapper mapper = new ToiletMapper();
+        ReflectionTestUtils.setField(mapper, "referenceDataCache", referenceDataCache());
+        return mapper;
+    }
+
+    static CommentMapper commentMapper() {
+        return new CommentMapper();
+    }
+
+    static UserMapper userMapper(List<User> users) {
+        List<CountCommentUser> counts = users.stream()
+                .map(user -> new CountCommentUser(user.getId(), user.getId() % 25))
+                .toList();
+        UserMapper mapper = new UserMapper();
+        ReflectionTestUtils.setField(mapper, "countCommentUserRepository",
+                stub(CountCommentUserRepository.class, "findCountCommentUserByUserIdIn", counts));
+        return mapper;
+    }
+
+    static ToiletSpatialIndex spatialIndex(List<Toilet> toilets) {
+        ToiletSpatialIndex index = new ToiletSpatialIndex();
+        index.refresh(toilets.stream()
+                .map(toilet -> new ToiletSpatialIndex.Entry(toilet.getId(), toilet.getLatitude(), toilet.getLongitude(), "active"))
+                .toList());
+        return index;
+    }
+
+    private static ReferenceDataCache referenceDataCache() {
+        List<TypeExtra> typeExtras = new ArrayList<>();
+        for (int i = 0; i < EXTRAS.length; i++) {
+            TypeExtra typeExtra = new TypeExtra();
+            typeExtra.setId(i + 1);
+            typeExtra.setTechnicalName(EXTRAS[i]);
+            typeExtras.add(typeExtra);
+        }
+
+        ReferenceDataCache cache = new ReferenceDataCache();
+        ReflectionTestUtils.setField(cache, "stateRepository", stub(StateRepository.class, "findAll", List.of()));
+        ReflectionTestUtils.setField(cache, "accessRepository", stub(AccessRepository.class, "findAll", List.of(access())));
+        ReflectionTestUtils.setField(cache, "typeExtraRepository", stub(TypeExtraRepository.class, "findAll", typeExtras));
+        ReflectionTestUtils.setField(cache, "typeReactionRepository", stub(TypeReactionRepository.class, "findAll", List.of()));
+        ReflectionTestUtils.setField(cache, "typeReportRepository", stub(TypeReportRepository.class, "findAll", List.of()));
+        cache.reload();
+        return cache;
+    }
+
+    private record Summary(int id, String name, String address, double latitude, double longitude, String placeId,
+                           int accessId, String accessTechnicalName, int comments, int sumClean, int sumStructure,
+                           int sumAccessibility, int paper, String extras) implements ToiletSummary {
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public String getPlaceId() {
+            return placeId;
+        }
+
+        public int getAccessId() {
+            return accessId;
+        }
+
+        public String getAccessTechnicalName() {
+            return accessTechnicalName;
+        }
+
+        public int getComments() {
+            return comments;
+        }
+
+        public int getSumClean() {
+            return sumClean;
+        }
+
+        public int getSumStructure() {
+            return sumStructure;
+        }
+
+        public int getSumAccessibility() {
+            return sumAccessibility;
+        }
+
+        public int getPaper() {
+            return paper;
+        }
+
+        public String getExtras() {
+            return extras;
+        }
+    }
+
+    private static <T> T stub(Class<T> type, String method, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, invoked, args) -> {
+            if (invoked.getName().equals(method)) {
+                return result;
+            }
+            throw new UnsupportedOperationException(invoked.getName());
+        }));
+    }
+
+    private static Access access() {
+        Access access = new Access();
+        access.setId(1);
+        access.setTechnicalName("public");
+        return access;
+    }
+}
@@ -0,0 +1,50 @@
+package pt.iade.ei.thinktoilet.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pt.iade.ei.thinktoilet.indexes.ToiletSpatialIndex;
+import pt.iade.ei.thinktoilet.models.entities.Toilet;
+import pt.iade.ei.thinktoilet.utils.GeoUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoBenchmark {
+    @Param({"20", "1000", "100000"})
+    private int size;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private ToiletSpatialIndex spatialIndex;
+
+    @Setup
+    public void setUp() {
+        List<Toilet> toilets = BenchmarkData.toilets(size);
+        latitudes = toilets.stream().mapToDouble(Toilet::getLatitude).toArray();
+        longitudes = toilets.stream().mapToDouble(Toilet::getLongitude).toArray();
+        spatialIndex = BenchmarkData.spatialIndex(toilets);
+    }
+
+    @Benchmark
+    public void haversineDistance(Blackhole blackhole) {
+        for (int i = 0; i < latitudes.length; i++) {
+            blackhole.consume(GeoUtils.distanceKm(BenchmarkData.CENTER_LAT, BenchmarkData.CENTER_LON, latitudes[i], longitudes[i]));
+        }
+    }
+
+    @Benchmark
+    public List<ToiletSpatialIndex.Neighbour> spatialIndexNearest() {
+        return spatialIndex.findNearest(BenchmarkData.CENTER_LAT, BenchmarkData.CENTER_LON, 20, entry -> true);
+    }
+
+    @Benchmark
+    public List<ToiletSpatialIndex.Neighbour> spatialIndexWithinRadius() {
+        return spatialIndex.findWithinRadius(BenchmarkData.CENTER_LAT, BenchmarkData.CENTER_LON, 2, 20, entry -> true);
+    }
+}
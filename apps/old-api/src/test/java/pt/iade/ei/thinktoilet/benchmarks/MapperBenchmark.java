@@ -0,0 +1,58 @@
+package pt.iade.ei.thinktoilet.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import pt.iade.ei.thinktoilet.models.dtos.CommentDTO;
+import pt.iade.ei.thinktoilet.models.dtos.ToiletDTO;
+import pt.iade.ei.thinktoilet.models.dtos.UserDTO;
+import pt.iade.ei.thinktoilet.models.entities.Comment;
+import pt.iade.ei.thinktoilet.models.entities.User;
+import pt.iade.ei.thinktoilet.models.mappers.CommentMapper;
+import pt.iade.ei.thinktoilet.models.mappers.ToiletMapper;
+import pt.iade.ei.thinktoilet.models.mappers.UserMapper;
+import pt.iade.ei.thinktoilet.models.projections.ToiletSummary;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"20", "1000", "100000"})
+    private int size;
+
+    private List<ToiletSummary> toilets;
+    private List<Comment> comments;
+    private List<User> users;
+    private ToiletMapper toiletMapper;
+    private CommentMapper commentMapper;
+    private UserMapper userMapper;
+
+    @Setup
+    public void setUp() {
+        toilets = BenchmarkData.toiletSummaries(BenchmarkData.toilets(size));
+        comments = BenchmarkData.comments(size);
+        users = BenchmarkData.users(size);
+        toiletMapper = BenchmarkData.toiletMapper();
+        commentMapper = BenchmarkData.commentMapper();
+        userMapper = BenchmarkData.userMapper(users);
+    }
+
+    @Benchmark
+    public List<ToiletDTO> mapToiletSummaries() {
+        return toiletMapper.mapToiletSummaries(toilets);
+    }
+
+    @Benchmark
+    public List<CommentDTO> mapCommentDTOS() {
+        return commentMapper.mapCommentDTOS(comments);
+    }
+
+    @Benchmark
+    public List<UserDTO> mapUserDTOS() {
+        return userMapper.mapUserDTOS(users);
+    }
+}
@@ -0,0 +1,118 @@
+package pt.iade.ei.thinktoilet.indexes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ToiletSearchIndexTest {
+    private static ToiletSearchIndex index(ToiletSearchIndex.Entry... entries) {
+        ToiletSearchIndex index = new ToiletSearchIndex();
+        index.refresh(List.of(entries));
+        return index;
+    }
+
+    private static List<Integer> ids(ToiletSearchIndex index, String query) {
+        return index.search(query, 10).stream()
+                .map(match -> match.entry().id())
+                .toList();
+    }
+
+    @Test
+    void exactMatchesRankAbovePrefixAndTypoMatches() {
+        ToiletSearchIndex index = index(
+                new ToiletSearchIndex.Entry(1, "Estacao Rossio", "Lisboa"),
+                new ToiletSearchIndex.Entry(2, "Estacionamento Norte", "Porto"),
+                new ToiletSearchIndex.Entry(3, "Estacio Central", "Faro"));
+
+        List<ToiletSearchIndex.Match> matches = index.search("estacao", 10);
+
+        assertEquals(List.of(1, 3, 2), matches.stream().map(match -> match.entry().id()).toList());
+        assertEquals(1.0, matches.get(0).score(), 1e-9);
+        assertEquals(0.55, matches.get(1).score(), 1e-9);
+        assertEquals(0.3, matches.get(2).score(), 1e-9);
+        assertEquals(List.of(1, 3, 2), ids(index, "estac"));
+        assertTrue(index.search("estac", 10).get(0).score() > index.search("estac", 10).get(2).score());
+    }
+
+    @Test
+    void nameMatchesOutweighAddressMatches() {
+        ToiletSearchIndex index = index(
+                new ToiletSearchIndex.Entry(1, "Jardim", "Rua do Chiado"),
+                new ToiletSearchIndex.Entry(2, "Chiado", "Largo do Carmo"));
+
+        List<ToiletSearchIndex.Match> matches = index.search("chiado", 10);
+
+        assertEquals(List.of(2, 1), matches.stream().map(match -> match.entry().id()).toList());
+        assertEquals(1.0, matches.get(0).score(), 1e-9);
+        assertEquals(0.5, matches.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void queriesIgnoreCaseAndAccents() {
+        ToiletSearchIndex index = index(new ToiletSearchIndex.Entry(1, "Praça do Comércio", "Baixa"));
+
+        assertEquals(List.of(1), ids(index, "PRACA comercio"));
+        assertEquals(List.of(1), ids(index, "praça"));
+    }
+
+    @Test
+    void typoToleranceGrowsWithTokenLength() {
+        ToiletSearchIndex index = index(
+                new ToiletSearchIndex.Entry(1, "Bar", "Rua A"),
+                new ToiletSearchIndex.Entry(2, "Mercado", "Rua B"),
+                new ToiletSearchIndex.Entry(3, "Universidade", "Rua C"));
+
+        assertEquals(List.of(), ids(index, "bor"));
+        assertEquals(List.of(2), ids(index, "mecrado"));
+        assertEquals(List.of(), ids(index, "mxrcxdo"));
+        assertEquals(List.of(3), ids(index, "univresidadi"));
+    }
+
+    @Test
+    void everyQueryTokenAddsToTheScore() {
+        ToiletSearchIndex index = index(
+                new ToiletSearchIndex.Entry(1, "Centro Comercial Colombo", "Benfica"),
+                new ToiletSearchIndex.Entry(2, "Centro de Saude", "Benfica"));
+
+        List<ToiletSearchIndex.Match> matches = index.search("centro colombo", 10);
+
+        assertEquals(List.of(1, 2), matches.stream().map(match -> match.entry().id()).toList());
+        assertEquals(2.0, matches.get(0).score(), 1e-9);
+        assertEquals(1.0, matches.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void tiesPreferShorterNamesThenLowerIdsAndRespectTheLimit() {
+        ToiletSearchIndex index = index(
+                new ToiletSearchIndex.Entry(3, "Parque Eduardo VII", "Lisboa"),
+                new ToiletSearchIndex.Entry(2, "Parque Norte", "Lisboa"),
+                new ToiletSearchIndex.Entry(1, "Parque Sul", "Lisboa"),
+                new ToiletSearchIndex.Entry(4, "Parque Sul", "Porto"));
+
+        assertEquals(List.of(1, 4, 2, 3), ids(index, "parque"));
+        assertEquals(List.of(1, 4), index.search("parque", 2).stream().map(match -> match.entry().id()).toList());
+        assertEquals(List.of(), index.search("parque", 0));
+        assertEquals(List.of(), index.search(" ,; ", 10));
+    }
+
+    @Test
+    void refreshReindexesChangedEntriesAndDropsMissingOnes() {
+        ToiletSearchIndex index = new ToiletSearchIndex();
+        assertFalse(index.isReady());
+        index.refresh(List.of(
+                new ToiletSearchIndex.Entry(1, "Rossio", "Lisboa"),
+                new ToiletSearchIndex.Entry(2, "Aliados", "Porto")));
+        assertTrue(index.isReady());
+
+        index.refresh(List.of(new ToiletSearchIndex.Entry(1, "Restauradores", "Lisboa")));
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), ids(index, "rossio"));
+        assertEquals(List.of(), ids(index, "aliados"));
+        assertEquals(List.of(1), ids(index, "restauradores"));
+    }
+}
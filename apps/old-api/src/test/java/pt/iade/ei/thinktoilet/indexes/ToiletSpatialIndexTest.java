@@ -0,0 +1,196 @@
+package pt.iade.ei.thinktoilet.indexes;
+
+import org.junit.jupiter.api.Test;
+import pt.iade.ei.thinktoilet.utils.BoundingBox;
+import pt.iade.ei.thinktoilet.utils.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ToiletSpatialIndexTest {
+    private static final String ACTIVE = "active";
+    private static final String INACTIVE = "inactive";
+
+    private static List<ToiletSpatialIndex.Entry> randomEntries(Random random, int count, double lat, double lon, double spread) {
+        List<ToiletSpatialIndex.Entry> entries = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            double entryLon = lon + (random.nextDouble() - 0.5) * spread;
+            if (entryLon > 180) {
+                entryLon -= 360;
+            } else if (entryLon < -180) {
+                entryLon += 360;
+            }
+            entries.add(new ToiletSpatialIndex.Entry(id, lat + (random.nextDouble() - 0.5) * spread, entryLon,
+                    random.nextInt(4) == 0 ? INACTIVE : ACTIVE));
+        }
+        return entries;
+    }
+
+    private static ToiletSpatialIndex index(List<ToiletSpatialIndex.Entry> entries) {
+        ToiletSpatialIndex index = new ToiletSpatialIndex();
+        index.refresh(entries);
+        return index;
+    }
+
+    private static List<Integer> bruteForce(List<ToiletSpatialIndex.Entry> entries, double lat, double lon, double radiusKm,
+                                            int limit, Predicate<ToiletSpatialIndex.Entry> filter) {
+        return entries.stream()
+                .filter(filter)
+                .filter(entry -> GeoUtils.distanceKm(lat, lon, entry.latitude(), entry.longitude()) <= radiusKm)
+                .sorted(Comparator.comparingDouble((ToiletSpatialIndex.Entry entry) -> GeoUtils.distanceKm(lat, lon, entry.latitude(), entry.longitude()))
+                        .thenComparingInt(ToiletSpatialIndex.Entry::id))
+                .limit(limit)
+                .map(ToiletSpatialIndex.Entry::id)
+                .toList();
+    }
+
+    private static void assertClusters(List<ToiletSpatialIndex.Cluster> expected, List<ToiletSpatialIndex.Cluster> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).count(), actual.get(i).count());
+            assertEquals(expected.get(i).latitude(), actual.get(i).latitude(), 1e-9);
+            assertEquals(expected.get(i).longitude(), actual.get(i).longitude(), 1e-9);
+            assertEquals(expected.get(i).representativeId(), actual.get(i).representativeId());
+        }
+    }
+
+    private static List<Integer> ids(List<ToiletSpatialIndex.Neighbour> neighbours) {
+        return neighbours.stream()
+                .map(neighbour -> neighbour.entry().id())
+                .toList();
+    }
+
+    @Test
+    void findNearestMatchesBruteForce() {
+        Random random = new Random(42);
+        List<ToiletSpatialIndex.Entry> entries = randomEntries(random, 5000, 38.7, -9.1, 4);
+        ToiletSpatialIndex index = index(entries);
+        Predicate<ToiletSpatialIndex.Entry> active = entry -> ACTIVE.equals(entry.state());
+
+        for (int i = 0; i < 50; i++) {
+            double lat = 38.7 + (random.nextDouble() - 0.5) * 5;
+            double lon = -9.1 + (random.nextDouble() - 0.5) * 5;
+            int limit = 1 + random.nextInt(40);
+            assertEquals(bruteForce(entries, lat, lon, Double.MAX_VALUE, limit, active), ids(index.findNearest(lat, lon, limit, active)));
+        }
+    }
+
+    @Test
+    void findNearestCrossesTheAntimeridian() {
+        List<ToiletSpatialIndex.Entry> entries = List.of(
+                new ToiletSpatialIndex.Entry(1, -17.0, 179.99, ACTIVE),
+                new ToiletSpatialIndex.Entry(2, -17.0, -179.98, ACTIVE),
+                new ToiletSpatialIndex.Entry(3, -17.0, 178.0, ACTIVE));
+        ToiletSpatialIndex index = index(entries);
+
+        List<ToiletSpatialIndex.Neighbour> neighbours = index.findNearest(-17.0, -179.99, 2, entry -> true);
+
+        assertEquals(List.of(2, 1), ids(neighbours));
+        assertTrue(neighbours.get(1).distance() < 3);
+    }
+
+    @Test
+    void findNearestReturnsEverythingWhenLimitExceedsSize() {
+        Random random = new Random(7);
+        List<ToiletSpatialIndex.Entry> entries = randomEntries(random, 100, 0, 0, 20);
+        ToiletSpatialIndex index = index(entries);
+
+        assertEquals(bruteForce(entries, 1, 1, Double.MAX_VALUE, Integer.MAX_VALUE, entry -> true),
+                ids(index.findNearest(1, 1, Integer.MAX_VALUE, entry -> true)));
+    }
+
+    @Test
+    void findWithinRadiusMatchesBruteForce() {
+        Random random = new Random(3);
+        List<ToiletSpatialIndex.Entry> entries = randomEntries(random, 5000, 41.15, -8.6, 1);
+        ToiletSpatialIndex index = index(entries);
+        Predicate<ToiletSpatialIndex.Entry> active = entry -> ACTIVE.equals(entry.state());
+
+        for (double radiusKm : new double[]{0.5, 2, 10, 100}) {
+            assertEquals(bruteForce(entries, 41.15, -8.6, radiusKm, 25, active),
+                    ids(index.findWithinRadius(41.15, -8.6, radiusKm, 25, active)));
+        }
+    }
+
+    @Test
+    void refreshAppliesMovesAndRemovals() {
+        ToiletSpatialIndex index = new ToiletSpatialIndex();
+        assertFalse(index.isReady());
+        index.refresh(List.of(
+                new ToiletSpatialIndex.Entry(1, 38.70, -9.14, ACTIVE),
+                new ToiletSpatialIndex.Entry(2, 38.71, -9.14, ACTIVE)));
+        assertTrue(index.isReady());
+
+        index.refresh(List.of(new ToiletSpatialIndex.Entry(2, 41.15, -8.61, ACTIVE)));
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), ids(index.findWithinRadius(38.70, -9.14, 5, 10, entry -> true)));
+        assertEquals(List.of(2), ids(index.findNearest(41.15, -8.61, 10, entry -> true)));
+    }
+
+    @Test
+    void fineClustersMatchClusteringTheEntriesDirectly() {
+        Random random = new Random(5);
+        List<ToiletSpatialIndex.Entry> entries = randomEntries(random, 2000, 38.7, -9.1, 0.2);
+        ToiletSpatialIndex index = index(entries);
+        BoundingBox box = new BoundingBox(38.62, 38.78, -9.18, -9.02);
+        List<ToiletSpatialIndex.Entry> active = entries.stream()
+                .filter(entry -> ACTIVE.equals(entry.state()))
+                .toList();
+
+        List<ToiletSpatialIndex.Cluster> clusters = index.cluster(box, 8, 8, ACTIVE);
+
+        assertClusters(ToiletSpatialIndex.cluster(active, box, 8, 8), clusters);
+    }
+
+    @Test
+    void coarseClustersKeepCountsCentroidsAndRepresentatives() {
+        Random random = new Random(9);
+        List<ToiletSpatialIndex.Entry> entries = randomEntries(random, 5000, 39, -9, 1);
+        ToiletSpatialIndex index = index(entries);
+        BoundingBox box = new BoundingBox(37.5, 40.5, -10.5, -7.5);
+        List<ToiletSpatialIndex.Entry> active = entries.stream()
+                .filter(entry -> ACTIVE.equals(entry.state()))
+                .toList();
+        Set<Integer> activeIds = new HashSet<>(active.stream().map(ToiletSpatialIndex.Entry::id).toList());
+
+        List<ToiletSpatialIndex.Cluster> clusters = index.cluster(box, 6, 6, ACTIVE);
+
+        assertEquals(active.size(), clusters.stream().mapToInt(ToiletSpatialIndex.Cluster::count).sum());
+        assertEquals(active.stream().mapToDouble(ToiletSpatialIndex.Entry::latitude).sum(),
+                clusters.stream().mapToDouble(cluster -> cluster.count() * cluster.latitude()).sum(), 1e-6);
+        assertEquals(active.stream().mapToDouble(ToiletSpatialIndex.Entry::longitude).sum(),
+                clusters.stream().mapToDouble(cluster -> cluster.count() * cluster.longitude()).sum(), 1e-6);
+        for (ToiletSpatialIndex.Cluster cluster : clusters) {
+            assertTrue(box.contains(cluster.latitude(), cluster.longitude()));
+            assertTrue(activeIds.contains(cluster.representativeId()));
+        }
+    }
+
+    @Test
+    void clustersFollowRemovals() {
+        List<ToiletSpatialIndex.Entry> entries = List.of(
+                new ToiletSpatialIndex.Entry(1, 38.701, -9.141, ACTIVE),
+                new ToiletSpatialIndex.Entry(2, 38.702, -9.142, ACTIVE),
+                new ToiletSpatialIndex.Entry(3, 38.703, -9.143, INACTIVE));
+        ToiletSpatialIndex index = index(entries);
+        BoundingBox box = new BoundingBox(38, 39.5, -10, -8.5);
+
+        assertClusters(List.of(new ToiletSpatialIndex.Cluster(2, (38.701 + 38.702) / 2, (-9.141 - 9.142) / 2, 1)),
+                index.cluster(box, 1, 1, ACTIVE));
+
+        index.refresh(entries.subList(1, 3));
+
+        assertClusters(List.of(new ToiletSpatialIndex.Cluster(1, 38.702, -9.142, 2)), index.cluster(box, 1, 1, ACTIVE));
+        assertEquals(List.of(), index.cluster(new BoundingBox(0, 1, 0, 1), 1, 1, ACTIVE));
+    }
+}
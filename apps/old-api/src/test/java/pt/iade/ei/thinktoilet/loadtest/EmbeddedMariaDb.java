@@ -0,0 +1,136 @@
+package pt.iade.ei.thinktoilet.loadtest;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+final class EmbeddedMariaDb {
+    private final Logger logger = LoggerFactory.getLogger(EmbeddedMariaDb.class);
+    private static final String DATABASE = "thinktoilet";
+    private static final String USERNAME = "root";
+
+    private static EmbeddedMariaDb instance;
+
+    private final DB db;
+    private final String url;
+
+    private EmbeddedMariaDb(DB db, int port) {
+        this.db = db;
+        this.url = "jdbc:mariadb://localhost:" + port + "/" + DATABASE;
+    }
+
+    static synchronized EmbeddedMariaDb get() {
+        if (instance == null) {
+            instance = start();
+        }
+        return instance;
+    }
+
+    String url() {
+        return url;
+    }
+
+    String username() {
+        return USERNAME;
+    }
+
+    String password() {
+        return "";
+    }
+
+    private static EmbeddedMariaDb start() {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder()
+                .setPort(0)
+                .addArg("--innodb-buffer-pool-size=" + System.getProperty("loadtest.embedded.buffer-pool", "1G"))
+                .addArg("--innodb-flush-log-at-trx-commit=2")
+                .addArg("--max-connections=500")
+                .addArg("--character-set-server=utf8mb4");
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        String dataDir = System.getProperty("loadtest.embedded.data-dir");
+        if (dataDir != null) {
+            config.setDataDir(Path.of(dataDir).toAbsolutePath().toString());
+            config.setDeletingTemporaryBaseAndDataDirsOnShutdown(false);
+        }
+
+        try {
+            DB db = DB.newEmbeddedDB(config.build());
+            db.start();
+            EmbeddedMariaDb embedded = new EmbeddedMariaDb(db, db.getConfiguration().getPort());
+            embedded.seed();
+            Runtime.getRuntime().addShutdownHook(new Thread(embedded::stop));
+            return embedded;
+        } catch (ManagedProcessException | SQLException | IOException e) {
+            throw new IllegalStateException("Could not start the embedded MariaDB for the load tests", e);
+        }
+    }
+
+    private void seed() throws SQLException, IOException {
+        DriverManagerDataSource server = new DriverManagerDataSource(url.substring(0, url.lastIndexOf('/') + 1), USERNAME, "");
+        try (Connection connection = server.getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet existing = statement.executeQuery("SELECT COUNT(*) FROM information_schema.schemata WHERE schema_name = '" + DATABASE + "'")) {
+                existing.next();
+                if (existing.getInt(1) > 0) {
+                    logger.info("Reusing the embedded load test database in {}", db.getConfiguration().getDataDir());
+                    return;
+                }
+            }
+            statement.execute("CREATE DATABASE " + DATABASE + " CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci");
+        }
+
+        Path scripts = Path.of(System.getProperty("loadtest.scripts", "../../db/old-scripts"));
+        Map<String, Integer> scale = Map.of(
+                "users", Integer.getInteger("loadtest.users", 100_000),
+                "toilets", Integer.getInteger("loadtest.toilets", 1_000_000),
+                "comments", Integer.getInteger("loadtest.comments", 2_000_000),
+                "reactions", Integer.getInteger("loadtest.reactions", 2_000_000));
+        String scaleScript = new ClassPathResource("loadtest/scale.sql").getContentAsString(StandardCharsets.UTF_8);
+        for (Map.Entry<String, Integer> entry : scale.entrySet()) {
+            scaleScript = scaleScript.replace("${" + entry.getKey() + "}", String.valueOf(entry.getValue()));
+        }
+
+        Instant start = Instant.now();
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new FileSystemResource(scripts.resolve("01-create.sql")),
+                new FileSystemResource(scripts.resolve("02-populate.sql")),
+                new ByteArrayResource(scaleScript.getBytes(StandardCharsets.UTF_8), "loadtest/scale.sql"));
+        populator.setSqlScriptEncoding(StandardCharsets.UTF_8.name());
+        try {
+            populator.execute(new DriverManagerDataSource(url, USERNAME, ""));
+        } catch (RuntimeException e) {
+            try (Connection connection = server.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP DATABASE " + DATABASE);
+            }
+            throw e;
+        }
+        logger.info("Seeded the embedded load test database from {} with {} in {} s", scripts.toAbsolutePath().normalize(), scale,
+                Duration.between(start, Instant.now()).toSeconds());
+    }
+
+    private void stop() {
+        try {
+            db.stop();
+        } catch (ManagedProcessException e) {
+            logger.warn("Could not stop the embedded MariaDB", e);
+        }
+    }
+}
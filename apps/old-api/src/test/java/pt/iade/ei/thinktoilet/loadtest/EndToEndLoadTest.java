@@ -0,0 +1,106 @@
+package pt.iade.ei.thinktoilet.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pt.iade.ei.thinktoilet.ThinkToiletServerApplication;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("loadtest")
+class EndToEndLoadTest {
+    private final Logger logger = LoggerFactory.getLogger(EndToEndLoadTest.class);
+    private static final String API_KEY = "loadtest";
+    private static final double[][] CENTRES = {
+            {38.7223, -9.1393},
+            {38.7928, -9.1838},
+            {38.8308, -9.1685},
+            {41.1579, -8.6291},
+            {41.5454, -8.4265},
+            {40.2033, -8.4103}
+    };
+    private static final List<String> SEARCH_TERMS = List.of("Restaurante", "Jardim", "Museu", "Mercado", "Posto", "McDonalds", "Lisboa", "Centro");
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+    private final boolean virtualThreads = Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "true"));
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+
+    @Test
+    void replayMixedTraffic() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ThinkToiletServerApplication.class)
+                .run(LoadTestEnvironment.arguments(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.pt.iade.ei.thinktoilet=warn",
+                        "--logging.level.pt.iade.ei.thinktoilet.loadtest=info",
+                        "--API_KEY_USER=" + API_KEY,
+                        "--API_KEY_ADMIN=" + API_KEY + "-admin"))) {
+            JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+            int toilets = jdbc.queryForObject("SELECT MAX(toil_id) FROM toilet", Integer.class);
+            int comments = jdbc.queryForObject("SELECT MAX(cmm_id) FROM comment", Integer.class);
+            int users = jdbc.queryForObject("SELECT MAX(user_id) FROM user", Integer.class);
+            List<LoadRunner.Scenario> scenarios = scenarios(toilets, comments, users);
+
+            LoadRunner runner = new LoadRunner("http://localhost:" + context.getEnvironment().getProperty("local.server.port"), API_KEY, concurrency);
+            runner.run("warmup", scenarios, warmup);
+            LoadRunner.Report report = runner.run("total", scenarios, duration);
+
+            logger.info("Mixed traffic against {} toilets, {} comments and {} users, {} concurrent clients for {} s ({} threads){}{}",
+                    toilets, comments, users, concurrency, duration.toSeconds(), virtualThreads ? "virtual" : "platform",
+                    System.lineSeparator(), report);
+
+            for (LoadRunner.Result result : report.endpoints()) {
+                assertTrue(result.ok() > 0, result.name() + " served no requests");
+                assertEquals(0, result.errors(), result.name() + " returned unexpected errors");
+            }
+        }
+    }
+
+    private static List<LoadRunner.Scenario> scenarios(int toilets, int comments, int users) {
+        return List.of(
+                new LoadRunner.Scenario("nearby", 35, random -> {
+                    double[] point = point(random);
+                    return LoadRunner.Call.get("/api/toilets/nearby?lat=" + point[0] + "&lon=" + point[1]
+                            + "&radiusKm=" + (1 + random.nextInt(5)) + "&pageable=true&size=20");
+                }),
+                new LoadRunner.Scenario("bounding-box", 20, random -> {
+                    double[] point = point(random);
+                    double span = 0.005 + random.nextDouble() * 0.02;
+                    return LoadRunner.Call.get("/api/toilets/bounding?minLat=" + (point[0] - span) + "&maxLat=" + (point[0] + span)
+                            + "&minLon=" + (point[1] - span) + "&maxLon=" + (point[1] + span));
+                }),
+                new LoadRunner.Scenario("search", 15, random ->
+                        LoadRunner.Call.get("/api/toilets/search/" + SEARCH_TERMS.get(random.nextInt(SEARCH_TERMS.size()))
+                                + "?pageable=true&size=20")),
+                new LoadRunner.Scenario("comment-page", 20, random ->
+                        LoadRunner.Call.get("/api/comments/toilets/" + skewedId(random, toilets)
+                                + "?pageable=true&page=" + random.nextInt(3) + "&size=20")),
+                new LoadRunner.Scenario("reaction", 10, random ->
+                        LoadRunner.Call.post("/api/comments/reactions", "{\"commentId\":" + (1 + random.nextInt(comments))
+                                + ",\"userId\":" + (1 + random.nextInt(users))
+                                + ",\"typeReaction\":\"" + (random.nextInt(10) < 7 ? "like" : "dislike") + "\"}"))
+        );
+    }
+
+    private static double[] point(ThreadLocalRandom random) {
+        double[] centre = CENTRES[random.nextInt(CENTRES.length)];
+        return new double[]{centre[0] + (random.nextDouble() - 0.5) * 0.2, centre[1] + (random.nextDouble() - 0.5) * 0.3};
+    }
+
+    private static int skewedId(ThreadLocalRandom random, int max) {
+        double roll = random.nextDouble();
+        return 1 + (int) (roll * roll * (max - 1));
+    }
+}
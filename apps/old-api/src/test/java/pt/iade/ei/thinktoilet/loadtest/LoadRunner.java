@@ -0,0 +1,147 @@
+package pt.iade.ei.thinktoilet.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+final class LoadRunner {
+    private final String baseUrl;
+    private final String apiKey;
+    private final int concurrency;
+
+    record Call(String path, String jsonBody) {
+        static Call get(String path) {
+            return new Call(path, null);
+        }
+
+        static Call post(String path, String jsonBody) {
+            return new Call(path, jsonBody);
+        }
+    }
+
+    record Scenario(String name, int weight, Function<ThreadLocalRandom, Call> call) {
+    }
+
+    record Result(String name, int ok, int rejected, int errors, double throughput, long p50, long p95, long p99) {
+        @Override
+        public String toString() {
+            return String.format("%-16s ok=%-7d rejected=%-6d errors=%-6d throughput=%8.1f req/s p50=%4d ms p95=%4d ms p99=%4d ms",
+                    name, ok, rejected, errors, throughput, p50, p95, p99);
+        }
+    }
+
+    record Report(List<Result> endpoints, Result total) {
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            endpoints.forEach(result -> builder.append(result).append(System.lineSeparator()));
+            return builder.append(total).toString();
+        }
+    }
+
+    private static final class Stats {
+        private final AtomicInteger ok = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    LoadRunner(String baseUrl, String apiKey, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.concurrency = concurrency;
+    }
+
+    Report run(String label, List<Scenario> scenarios, Duration runFor) throws InterruptedException {
+        Map<Scenario, Stats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario, new Stats()));
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        long deadline = System.nanoTime() + runFor.toNanos();
+
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = pick(scenarios, random.nextInt(totalWeight));
+                        send(client, scenario.call().apply(random), stats.get(scenario));
+                    }
+                });
+            }
+        }
+
+        List<Result> endpoints = new ArrayList<>();
+        Stats total = new Stats();
+        stats.forEach((scenario, scenarioStats) -> {
+            endpoints.add(result(scenario.name(), scenarioStats, runFor));
+            total.ok.addAndGet(scenarioStats.ok.get());
+            total.rejected.addAndGet(scenarioStats.rejected.get());
+            total.errors.addAndGet(scenarioStats.errors.get());
+            total.latencies.addAll(scenarioStats.latencies);
+        });
+        return new Report(endpoints, result(label, total, runFor));
+    }
+
+    private void send(HttpClient client, Call call, Stats stats) {
+        String separator = call.path().contains("?") ? "&" : "?";
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + call.path() + separator + "API_KEY=" + apiKey))
+                .timeout(Duration.ofSeconds(30));
+        if (call.jsonBody() != null) {
+            request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(call.jsonBody()));
+        }
+
+        long start = System.nanoTime();
+        try {
+            int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 200 && status < 300) {
+                stats.ok.incrementAndGet();
+                stats.latencies.add((System.nanoTime() - start) / 1_000_000);
+            } else if (status == 429) {
+                stats.rejected.incrementAndGet();
+            } else {
+                stats.errors.incrementAndGet();
+            }
+        } catch (Exception e) {
+            stats.errors.incrementAndGet();
+        }
+    }
+
+    private static Scenario pick(List<Scenario> scenarios, int roll) {
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private static Result result(String name, Stats stats, Duration runFor) {
+        List<Long> sorted = new ArrayList<>(stats.latencies);
+        Collections.sort(sorted);
+        return new Result(name, stats.ok.get(), stats.rejected.get(), stats.errors.get(),
+                stats.ok.get() / (double) runFor.toSeconds(),
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99));
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1));
+    }
+}
@@ -0,0 +1,52 @@
+package pt.iade.ei.thinktoilet.loadtest;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+final class LoadTestEnvironment {
+    record Database(String url, String username, String password) {
+    }
+
+    private LoadTestEnvironment() {
+    }
+
+    static Database database() {
+        String url = System.getProperty("loadtest.datasource.url");
+        String username = System.getProperty("loadtest.datasource.username");
+        String password = System.getProperty("loadtest.datasource.password");
+        if (url == null && Boolean.parseBoolean(System.getProperty("loadtest.embedded", "true"))) {
+            EmbeddedMariaDb embedded = EmbeddedMariaDb.get();
+            url = embedded.url();
+            username = embedded.username();
+            password = embedded.password();
+        }
+        return new Database(url, username, password);
+    }
+
+    static DataSource dataSource() {
+        Database database = database();
+        if (database.url() == null) {
+            throw new IllegalStateException("Set loadtest.datasource.url or enable the embedded MariaDB");
+        }
+        return new DriverManagerDataSource(database.url(), database.username(), database.password());
+    }
+
+    static String[] arguments(String... arguments) {
+        List<String> result = new ArrayList<>(List.of(arguments));
+        Database database = database();
+        if (database.url() != null) {
+            result.add("--spring.datasource.url=" + database.url());
+            result.add("--thinktoilet.datasource.replica.url=" + database.url());
+        }
+        if (database.username() != null) {
+            result.add("--spring.datasource.username=" + database.username());
+        }
+        if (database.password() != null) {
+            result.add("--spring.datasource.password=" + database.password());
+        }
+        return result.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,141 @@
+package pt.iade.ei.thinktoilet.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pt.iade.ei.thinktoilet.utils.BoundingBox;
+import pt.iade.ei.thinktoilet.utils.GeoCells;
+import pt.iade.ei.thinktoilet.utils.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("loadtest")
+class SpatialQueryBenchmark {
+    private static final double[][] CENTRES = {
+            {38.7223, -9.1393},
+            {41.1579, -8.6291},
+            {40.2033, -8.4103}
+    };
+    private static final String HAVERSINE = "ACOS(LEAST(COS(RADIANS(toil_lat)) * COS(RADIANS(%1$s)) * COS(RADIANS(toil_long) - RADIANS(%2$s)) "
+            + "+ SIN(RADIANS(toil_lat)) * SIN(RADIANS(%1$s)), 1)) * 6371";
+    private static final String SPHERE = "ST_Distance_Sphere(toil_location, POINT(%2$s, %1$s)) / 1000";
+
+    private final Logger logger = LoggerFactory.getLogger(SpatialQueryBenchmark.class);
+    private final int iterations = Integer.getInteger("loadtest.benchmark.iterations", 300);
+
+    private record Query(double lat, double lon, double radiusKm, BoundingBox box) {
+    }
+
+    private record Timing(String name, double mean, double p50, double p95) {
+        @Override
+        public String toString() {
+            return String.format("%-28s mean=%7.2f ms p50=%7.2f ms p95=%7.2f ms", name, mean, p50, p95);
+        }
+    }
+
+    @Test
+    void compareHaversineCellAndSpatialQueries() {
+        JdbcTemplate jdbc = new JdbcTemplate(LoadTestEnvironment.dataSource());
+        int active = jdbc.queryForObject("SELECT state_id FROM state WHERE state_technical_name = 'active'", Integer.class);
+        List<Query> queries = queries(new Random(42));
+
+        Map<String, Function<Query, String>> boxes = new LinkedHashMap<>();
+        boxes.put("box / lat-long between", query -> boxSql(active, between(query.box())));
+        boxes.put("box / cell ranges", query -> boxSql(active, between(query.box()) + " AND " + cells(query.box())));
+        boxes.put("box / MBRContains", query -> boxSql(active, mbrContains(query.box())));
+
+        Map<String, Function<Query, String>> radius = new LinkedHashMap<>();
+        radius.put("radius / haversine", query -> radiusSql(active, between(query.box()), HAVERSINE, query));
+        radius.put("radius / cells + haversine", query -> radiusSql(active, between(query.box()) + " AND " + cells(query.box()), HAVERSINE, query));
+        radius.put("radius / spatial", query -> radiusSql(active, mbrContains(query.box()), SPHERE, query));
+
+        for (Query query : queries.subList(0, 20)) {
+            List<List<Integer>> results = boxes.values().stream()
+                    .map(sql -> jdbc.queryForList(sql.apply(query), Integer.class))
+                    .toList();
+            assertEquals(results.get(0), results.get(1), "cell ranges changed the bounding box result");
+            assertEquals(results.get(0), results.get(2), "MBRContains changed the bounding box result");
+        }
+
+        logger.info("Spatial queries over {} toilets, {} iterations each", jdbc.queryForObject("SELECT COUNT(*) FROM toilet", Integer.class),
+                iterations);
+        run(jdbc, boxes, queries).forEach(timing -> logger.info("{}", timing));
+        run(jdbc, radius, queries).forEach(timing -> logger.info("{}", timing));
+    }
+
+    private List<Timing> run(JdbcTemplate jdbc, Map<String, Function<Query, String>> variants, List<Query> queries) {
+        Map<String, List<Double>> timings = new LinkedHashMap<>();
+        variants.keySet().forEach(name -> timings.put(name, new ArrayList<>()));
+        for (int i = 0; i < iterations + iterations / 10; i++) {
+            Query query = queries.get(i % queries.size());
+            for (Map.Entry<String, Function<Query, String>> variant : variants.entrySet()) {
+                String sql = variant.getValue().apply(query);
+                long start = System.nanoTime();
+                jdbc.queryForList(sql, Integer.class);
+                if (i >= iterations / 10) {
+                    timings.get(variant.getKey()).add((System.nanoTime() - start) / 1e6);
+                }
+            }
+        }
+        return timings.entrySet().stream()
+                .map(entry -> timing(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static Timing timing(String name, List<Double> samples) {
+        List<Double> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        double mean = sorted.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        return new Timing(name, mean, sorted.get(sorted.size() / 2), sorted.get((int) (sorted.size() * 0.95)));
+    }
+
+    private static List<Query> queries(Random random) {
+        List<Query> queries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            double[] centre = CENTRES[random.nextInt(CENTRES.length)];
+            double lat = centre[0] + (random.nextDouble() - 0.5) * 0.2;
+            double lon = centre[1] + (random.nextDouble() - 0.5) * 0.3;
+            double radiusKm = 0.5 + random.nextDouble() * 4.5;
+            queries.add(new Query(lat, lon, radiusKm, GeoUtils.boundingBox(lat, lon, radiusKm)));
+        }
+        return queries;
+    }
+
+    private static String boxSql(int state, String area) {
+        return "SELECT toil_id FROM toilet WHERE toil_state_id = " + state + " AND " + area + " ORDER BY toil_id";
+    }
+
+    private static String radiusSql(int state, String area, String distance, Query query) {
+        String expression = String.format(distance, query.lat(), query.lon());
+        return "SELECT toil_id FROM toilet WHERE toil_state_id = " + state + " AND " + area
+                + " AND " + expression + " <= " + query.radiusKm()
+                + " ORDER BY " + expression + ", toil_id LIMIT 20";
+    }
+
+    private static String between(BoundingBox box) {
+        return "toil_lat BETWEEN " + box.minLat() + " AND " + box.maxLat()
+                + " AND toil_long BETWEEN " + box.minLon() + " AND " + box.maxLon();
+    }
+
+    private static String cells(BoundingBox box) {
+        return GeoCells.cover(box).stream()
+                .map(range -> "toil_cell BETWEEN " + range.from() + " AND " + range.to())
+                .collect(Collectors.joining(" OR ", "(", ")"));
+    }
+
+    private static String mbrContains(BoundingBox box) {
+        return "MBRContains(ST_Envelope(LineString(POINT(" + box.minLon() + ", " + box.minLat() + "), POINT("
+                + box.maxLon() + ", " + box.maxLat() + "))), toil_location)";
+    }
+}
@@ -0,0 +1,65 @@
+package pt.iade.ei.thinktoilet.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pt.iade.ei.thinktoilet.ThinkToiletServerApplication;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("loadtest")
+class ThreadingModeLoadTest {
+    private final Logger logger = LoggerFactory.getLogger(ThreadingModeLoadTest.class);
+    private static final String API_KEY = "loadtest";
+    private static final List<LoadRunner.Scenario> SCENARIOS = List.of(
+            get("/api/toilets/1"),
+            get("/api/toilets?pageable=true&size=20"),
+            get("/api/toilets/nearby?lat=38.7&lon=-9.15&pageable=true&size=20"),
+            get("/api/comments/toilets/1?pageable=true&size=20"),
+            get("/api/comments/users/1?pageable=true&size=20")
+    );
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT20S"));
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        LoadRunner.Result platform = runAgainstServer(false);
+        LoadRunner.Result virtual = runAgainstServer(true);
+
+        logger.info("Toilet/comment read load, {} concurrent clients for {} s{}{}{}{}", concurrency, duration.toSeconds(),
+                System.lineSeparator(), platform, System.lineSeparator(), virtual);
+
+        for (LoadRunner.Result result : List.of(platform, virtual)) {
+            assertTrue(result.ok() > 0, result.name() + " served no requests");
+            assertEquals(0, result.errors(), result.name() + " returned unexpected errors");
+        }
+    }
+
+    private LoadRunner.Result runAgainstServer(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ThinkToiletServerApplication.class)
+                .run(LoadTestEnvironment.arguments(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--API_KEY_USER=" + API_KEY,
+                        "--API_KEY_ADMIN=" + API_KEY + "-admin"))) {
+            LoadRunner runner = new LoadRunner("http://localhost:" + context.getEnvironment().getProperty("local.server.port"), API_KEY, concurrency);
+            runner.run(mode, SCENARIOS, warmup);
+            return runner.run(mode, SCENARIOS, duration).total();
+        }
+    }
+
+    private static LoadRunner.Scenario get(String path) {
+        return new LoadRunner.Scenario(path, 1, random -> LoadRunner.Call.get(path));
+    }
+}
@@ -0,0 +1,38 @@
+package pt.iade.ei.thinktoilet.models.response;
+
+import org.junit.jupiter.api.Test;
+import pt.iade.ei.thinktoilet.utils.Cursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CursorResponseTest {
+    private static final Function<List<Integer>, List<String>> MAPPER = rows -> rows.stream().map(String::valueOf).toList();
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        CursorResponse<String> response = CursorResponse.of(List.of(1, 2, 3), 3, MAPPER, Cursor::of);
+
+        assertEquals(List.of("1", "2", "3"), response.getItems());
+        assertNull(response.getNext());
+    }
+
+    @Test
+    void extraRowIsDroppedAndBecomesTheNextCursor() {
+        CursorResponse<String> response = CursorResponse.of(List.of(9, 8, 7, 6), 3, MAPPER, Cursor::of);
+
+        assertEquals(List.of("9", "8", "7"), response.getItems());
+        assertEquals(Cursor.of(7), Cursor.decode(response.getNext()));
+    }
+
+    @Test
+    void emptyPageHasNoItemsAndNoNextCursor() {
+        CursorResponse<String> response = CursorResponse.of(List.of(), 20, MAPPER, Cursor::of);
+
+        assertEquals(List.of(), response.getItems());
+        assertNull(response.getNext());
+    }
+}
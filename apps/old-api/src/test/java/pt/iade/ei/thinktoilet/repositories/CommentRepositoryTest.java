@@ -0,0 +1,79 @@
+package pt.iade.ei.thinktoilet.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pt.iade.ei.thinktoilet.models.dtos.CommentDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CommentRepositoryTest {
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        RepositoryTestDatabase.register(registry);
+    }
+
+    @Test
+    void toiletPagesSeekPastTiedTimestamps() {
+        int toiletId = busiestToiletId();
+        List<CommentDTO> expected = commentRepository.findCommentsByToiletId(toiletId);
+        assertTrue(expected.size() > PAGE_SIZE);
+
+        List<CommentDTO> actual = new ArrayList<>();
+        List<CommentDTO> page = commentRepository.findCommentsByToiletId(toiletId, PageRequest.of(0, PAGE_SIZE));
+        while (!page.isEmpty()) {
+            actual.addAll(page);
+            CommentDTO last = page.get(page.size() - 1);
+            page = commentRepository.findCommentsByToiletIdAfter(toiletId, last.getDatetime(), last.getId(), PageRequest.of(0, PAGE_SIZE));
+        }
+        assertEquals(ids(expected), ids(actual));
+    }
+
+    @Test
+    void ownAndOtherCommentsSplitTheUserListing() {
+        int toiletId = busiestToiletId();
+        int userId = jdbcTemplate.queryForObject("SELECT cmm_user_id FROM comment WHERE cmm_toil_id = ? " +
+                "ORDER BY cmm_id LIMIT 1", Integer.class, toiletId);
+        List<CommentDTO> expected = commentRepository.findCommentsByToiletIdForUserId(toiletId, userId);
+
+        List<CommentDTO> own = commentRepository.findOwnCommentsByToiletId(toiletId, userId, PageRequest.of(0, expected.size()));
+        List<CommentDTO> other = commentRepository.findOtherCommentsByToiletId(toiletId, userId, PageRequest.of(0, expected.size()));
+        assertFalse(own.isEmpty());
+        assertTrue(own.stream().allMatch(comment -> comment.getUserId() == userId));
+        assertTrue(other.stream().noneMatch(comment -> comment.getUserId() == userId));
+
+        List<CommentDTO> actual = new ArrayList<>(own);
+        actual.addAll(other);
+        assertEquals(ids(expected), ids(actual));
+
+        CommentDTO first = other.get(0);
+        assertEquals(ids(other.subList(1, other.size())),
+                ids(commentRepository.findOtherCommentsByToiletIdAfter(toiletId, userId, first.getDatetime(), first.getId(), PageRequest.of(0, other.size()))));
+    }
+
+    private int busiestToiletId() {
+        return jdbcTemplate.queryForObject("SELECT cmm_toil_id FROM comment " +
+                "GROUP BY cmm_toil_id ORDER BY COUNT(*) DESC, cmm_toil_id LIMIT 1", Integer.class);
+    }
+
+    private List<Integer> ids(List<CommentDTO> comments) {
+        return comments.stream().map(CommentDTO::getId).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package pt.iade.ei.thinktoilet.repositories;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+final class RepositoryTestDatabase {
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryTestDatabase.class);
+    private static final String DATABASE = "thinktoilet";
+    private static final String USERNAME = "root";
+
+    private static String url;
+
+    private RepositoryTestDatabase() {
+    }
+
+    static void register(DynamicPropertyRegistry registry) {
+        String url = url();
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("thinktoilet.datasource.replica.url", () -> url);
+    }
+
+    private static synchronized String url() {
+        if (url == null) {
+            url = start();
+        }
+        return url;
+    }
+
+    private static String start() {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder()
+                .setPort(0)
+                .addArg("--character-set-server=utf8mb4");
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        try {
+            DB db = DB.newEmbeddedDB(config.build());
+            db.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> stop(db)));
+            String server = "jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/";
+            try (Connection connection = new DriverManagerDataSource(server, USERNAME, "").getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE DATABASE " + DATABASE + " CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci");
+            }
+
+            Path scripts = Path.of(System.getProperty("repositorytest.scripts", "../../db/old-scripts"));
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                    new FileSystemResource(scripts.resolve("01-create.sql")),
+                    new FileSystemResource(scripts.resolve("02-populate.sql")));
+            populator.setSqlScriptEncoding(StandardCharsets.UTF_8.name());
+            populator.execute(new DriverManagerDataSource(server + DATABASE, USERNAME, ""));
+            logger.info("Seeded the repository test database from {}", scripts.toAbsolutePath().normalize());
+            return server + DATABASE;
+        } catch (ManagedProcessException | SQLException e) {
+            throw new IllegalStateException("Could not start the embedded MariaDB for the repository tests", e);
+        }
+    }
+
+    private static void stop(DB db) {
+        try {
+            db.stop();
+        } catch (ManagedProcessException e) {
+            logger.warn("Could not stop the embedded MariaDB", e);
+        }
+    }
+}
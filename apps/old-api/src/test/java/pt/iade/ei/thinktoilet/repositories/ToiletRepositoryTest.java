@@ -0,0 +1,145 @@
+package pt.iade.ei.thinktoilet.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pt.iade.ei.thinktoilet.models.filters.ToiletFilter;
+import pt.iade.ei.thinktoilet.models.projections.ToiletLocation;
+import pt.iade.ei.thinktoilet.models.projections.ToiletVersion;
+import pt.iade.ei.thinktoilet.utils.BoundingBox;
+import pt.iade.ei.thinktoilet.utils.GeoCells;
+import pt.iade.ei.thinktoilet.utils.GeoUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ToiletRepositoryTest {
+    private static final double LAT = 38.707291950343105;
+    private static final double LON = -9.152416606746225;
+
+    @Autowired
+    private ToiletRepository toiletRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        RepositoryTestDatabase.register(registry);
+    }
+
+    @Test
+    void interactedByUserListsEachToiletOnceInIdOrder() {
+        int userId = jdbcTemplate.queryForObject("SELECT int_user_id FROM interaction " +
+                "GROUP BY int_user_id ORDER BY COUNT(*) DESC, int_user_id LIMIT 1", Integer.class);
+        List<Integer> expected = jdbcTemplate.queryForList("SELECT int_toil_id FROM interaction " +
+                "WHERE int_user_id = ? ORDER BY int_toil_id", Integer.class, userId);
+        assertTrue(expected.size() > 2);
+
+        assertEquals(expected, ids(interactedBy(userId), Pageable.unpaged()));
+        assertEquals(expected.subList(2, Math.min(4, expected.size())), ids(interactedBy(userId), PageRequest.of(1, 2)));
+    }
+
+    @Test
+    void interactedByUserCombinesWithState() {
+        int userId = jdbcTemplate.queryForObject("SELECT int_user_id FROM interaction " +
+                "GROUP BY int_user_id ORDER BY COUNT(*) DESC, int_user_id LIMIT 1", Integer.class);
+        List<Integer> expected = jdbcTemplate.queryForList("SELECT i.int_toil_id FROM interaction i " +
+                "JOIN toilet t ON t.toil_id = i.int_toil_id " +
+                "WHERE i.int_user_id = ? AND t.toil_state_id = 1 ORDER BY i.int_toil_id", Integer.class, userId);
+
+        ToiletFilter filter = interactedBy(userId);
+        filter.setStateId(1);
+        assertEquals(expected, ids(filter, Pageable.unpaged()));
+    }
+
+    @Test
+    void boundingBoxMatchesPlainCoordinateRange() {
+        for (BoundingBox box : List.of(
+                GeoUtils.boundingBox(LAT, LON, 1),
+                GeoUtils.boundingBox(LAT, LON, 8),
+                GeoUtils.boundingBox(38.7637, -9.0956, 0.5),
+                new BoundingBox(40.7165, 40.7175, -74.0015, -74.0005))) {
+            List<Integer> expected = jdbcTemplate.queryForList("SELECT toil_id FROM toilet " +
+                    "WHERE toil_lat BETWEEN ? AND ? AND toil_long BETWEEN ? AND ? ORDER BY toil_id", Integer.class,
+                    box.minLat(), box.maxLat(), box.minLon(), box.maxLon());
+            assertFalse(expected.isEmpty(), box.toString());
+
+            ToiletFilter filter = new ToiletFilter();
+            filter.setBoundingBox(box);
+            assertEquals(expected, ids(filter, Pageable.unpaged()), box.toString());
+            assertEquals(expected, toiletRepository.findToiletLocations(filter).stream().map(ToiletLocation::id).toList(), box.toString());
+        }
+    }
+
+    @Test
+    void nearPointOrdersByDistanceWithinRadius() {
+        double radiusKm = 5;
+        List<Integer> expected = jdbcTemplate.queryForList("SELECT toil_id, toil_lat, toil_long FROM toilet").stream()
+                .filter(row -> distanceKm(row) <= radiusKm)
+                .sorted(Comparator.comparingDouble(this::distanceKm).thenComparing(row -> (Integer) row.get("toil_id")))
+                .map(row -> (Integer) row.get("toil_id"))
+                .toList();
+        assertTrue(expected.size() > 4);
+
+        ToiletFilter filter = new ToiletFilter();
+        filter.setLatitude(LAT);
+        filter.setLongitude(LON);
+        filter.setRadiusKm(radiusKm);
+        filter.setBoundingBox(GeoUtils.boundingBox(LAT, LON, radiusKm));
+        assertEquals(expected, ids(filter, Pageable.unpaged()));
+        assertEquals(expected.subList(2, 4), ids(filter, PageRequest.of(1, 2)));
+    }
+
+    @Test
+    void locationTriggersFollowCoordinates() {
+        jdbcTemplate.update("INSERT INTO toilet (toil_city_id, toil_acs_id, toil_state_id, toil_name, toil_lat, toil_long, " +
+                "toil_address, toil_cdate) VALUES (1, 1, 1, 'Trigger test', ?, ?, 'Trigger test', CURDATE())", 41.1579, -8.6291);
+        int id = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Integer.class);
+        assertLocation(id, 41.1579, -8.6291);
+        int version = jdbcTemplate.queryForObject("SELECT toil_version FROM toilet WHERE toil_id = ?", Integer.class, id);
+
+        jdbcTemplate.update("UPDATE toilet SET toil_lat = ?, toil_long = ? WHERE toil_id = ?", 40.2033, -8.4103, id);
+        assertLocation(id, 40.2033, -8.4103);
+        assertEquals(version + 1, jdbcTemplate.queryForObject("SELECT toil_version FROM toilet WHERE toil_id = ?", Integer.class, id));
+
+        ToiletFilter moved = new ToiletFilter();
+        moved.setBoundingBox(GeoUtils.boundingBox(40.2033, -8.4103, 0.1));
+        assertEquals(List.of(id), ids(moved, Pageable.unpaged()));
+        ToiletFilter previous = new ToiletFilter();
+        previous.setBoundingBox(GeoUtils.boundingBox(41.1579, -8.6291, 0.1));
+        assertTrue(ids(previous, Pageable.unpaged()).isEmpty());
+    }
+
+    private void assertLocation(int id, double lat, double lon) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT ST_X(toil_location) AS lon, ST_Y(toil_location) AS lat, toil_cell " +
+                "FROM toilet WHERE toil_id = ?", id);
+        assertEquals(lon, ((Number) row.get("lon")).doubleValue());
+        assertEquals(lat, ((Number) row.get("lat")).doubleValue());
+        assertEquals(GeoCells.cell(lat, lon), ((Number) row.get("toil_cell")).intValue());
+    }
+
+    private double distanceKm(Map<String, Object> row) {
+        return GeoUtils.distanceKm(LAT, LON, ((Number) row.get("toil_lat")).doubleValue(), ((Number) row.get("toil_long")).doubleValue());
+    }
+
+    private ToiletFilter interactedBy(int userId) {
+        ToiletFilter filter = new ToiletFilter();
+        filter.setInteractedByUserId(userId);
+        return filter;
+    }
+
+    private List<Integer> ids(ToiletFilter filter, Pageable pageable) {
+        return toiletRepository.findToiletVersions(filter, pageable).stream().map(ToiletVersion::id).toList();
+    }
+}
@@ -0,0 +1,51 @@
+package pt.iade.ei.thinktoilet.utils;
+
+import org.junit.jupiter.api.Test;
+import pt.iade.ei.thinktoilet.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorTest {
+    private static final LocalDateTime DATETIME = LocalDateTime.of(2024, 5, 17, 13, 45, 7, 120_000_000);
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        assertEquals(Cursor.of(42), Cursor.decode(Cursor.of(42).encode()));
+        assertEquals(Cursor.of(DATETIME, 42), Cursor.decode(Cursor.of(DATETIME, 42).encode()));
+        assertEquals(Cursor.of(1, DATETIME, 42), Cursor.decode(Cursor.of(1, DATETIME, 42).encode()));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String token = Cursor.of(1, DATETIME, Integer.MAX_VALUE).encode();
+
+        assertFalse(token.contains("+") || token.contains("/") || token.contains("="), token);
+    }
+
+    @Test
+    void decodeTreatsMissingTokenAsFirstPage() {
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+        assertNull(Cursor.decode("  "));
+    }
+
+    @Test
+    void decodeRejectsMalformedTokens() {
+        assertThrows(BadRequestException.class, () -> Cursor.decode("not base64!"));
+        assertThrows(BadRequestException.class, () -> Cursor.decode(encode("42")));
+        assertThrows(BadRequestException.class, () -> Cursor.decode(encode("x||")));
+        assertThrows(BadRequestException.class, () -> Cursor.decode(encode("42|yesterday|")));
+        assertThrows(BadRequestException.class, () -> Cursor.decode(encode("42|||")));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
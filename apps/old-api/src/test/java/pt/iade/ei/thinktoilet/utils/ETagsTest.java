@@ -0,0 +1,44 @@
+package pt.iade.ei.thinktoilet.utils;
+
+import org.junit.jupiter.api.Test;
+import pt.iade.ei.thinktoilet.models.projections.ToiletMarker;
+import pt.iade.ei.thinktoilet.models.projections.ToiletVersion;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagsTest {
+    private static final List<ToiletVersion> TOILETS = List.of(new ToiletVersion(1, 3), new ToiletVersion(2, 0));
+
+    @Test
+    void eTagIsAStableQuotedValue() {
+        String eTag = ETags.of(TOILETS, 38.7, -9.1);
+
+        assertTrue(eTag.matches("\"[0-9a-f]{32}\""), eTag);
+        assertEquals(eTag, ETags.of(List.of(new ToiletVersion(1, 3), new ToiletVersion(2, 0)), 38.7, -9.1));
+        assertEquals(ETags.of(List.of(new ToiletVersion(5, 1))), ETags.of(new ToiletVersion(5, 1)));
+    }
+
+    @Test
+    void eTagChangesWithVersionsMembershipOrderAndParameters() {
+        String eTag = ETags.of(TOILETS, 38.7, -9.1);
+
+        assertNotEquals(eTag, ETags.of(List.of(new ToiletVersion(1, 4), new ToiletVersion(2, 0)), 38.7, -9.1));
+        assertNotEquals(eTag, ETags.of(List.of(new ToiletVersion(1, 3)), 38.7, -9.1));
+        assertNotEquals(eTag, ETags.of(List.of(new ToiletVersion(2, 0), new ToiletVersion(1, 3)), 38.7, -9.1));
+        assertNotEquals(eTag, ETags.of(TOILETS, 38.71, -9.1));
+        assertNotEquals(ETags.of(List.of(new ToiletVersion(1, 23))), ETags.of(List.of(new ToiletVersion(12, 3))));
+    }
+
+    @Test
+    void markerETagsDependOnIdsAndVersionsOnly() {
+        List<ToiletMarker> markers = List.of(new ToiletMarker(1, 3, 38.7, -9.1, 1, "public", 4.5));
+
+        assertEquals(ETags.ofMarkers(markers), ETags.ofMarkers(List.of(new ToiletMarker(1, 3, 0, 0, 2, "private", 0))));
+        assertNotEquals(ETags.ofMarkers(markers), ETags.ofMarkers(List.of(new ToiletMarker(1, 4, 38.7, -9.1, 1, "public", 4.5))));
+        assertNotEquals(ETags.ofMarkers(markers), ETags.of(List.of(new ToiletVersion(1, 3))));
+    }
+}
@@ -0,0 +1,66 @@
+package pt.iade.ei.thinktoilet.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoCellsTest {
+    private static boolean covered(List<GeoCells.Range> ranges, int cell) {
+        return ranges.stream().anyMatch(range -> cell >= range.from() && cell <= range.to());
+    }
+
+    @Test
+    void cellMatchesTheStoredColumnFormula() {
+        assertEquals(0, GeoCells.cell(-90, -180));
+        assertEquals(12871 * 36000 + 17086, GeoCells.cell(38.7139, -9.1394));
+        assertEquals(9000 * 36000 + 18000, GeoCells.cell(0, 0));
+        assertEquals(8999 * 36000 + 17999, GeoCells.cell(-0.001, -0.001));
+        assertEquals(18000 * 36000 + 36000, GeoCells.cell(90, 180));
+    }
+
+    @Test
+    void coverIncludesEveryPointInTheBox() {
+        Random random = new Random(17);
+        for (int i = 0; i < 100; i++) {
+            double minLat = random.nextDouble() * 170 - 85;
+            double minLon = random.nextDouble() * 350 - 180;
+            BoundingBox box = new BoundingBox(minLat, minLat + random.nextDouble() * 0.6, minLon, minLon + random.nextDouble() * 5);
+            List<GeoCells.Range> ranges = GeoCells.cover(box);
+            assertTrue(ranges.size() <= 64);
+
+            for (int j = 0; j < 200; j++) {
+                double lat = box.minLat() + random.nextDouble() * (box.maxLat() - box.minLat());
+                double lon = box.minLon() + random.nextDouble() * (box.maxLon() - box.minLon());
+                assertTrue(covered(ranges, GeoCells.cell(lat, lon)), () -> box + " does not cover " + lat + "," + lon);
+            }
+            assertTrue(covered(ranges, GeoCells.cell(box.minLat(), box.minLon())));
+            assertTrue(covered(ranges, GeoCells.cell(box.maxLat(), box.maxLon())));
+        }
+    }
+
+    @Test
+    void coverUsesOneRangePerRow() {
+        List<GeoCells.Range> ranges = GeoCells.cover(new BoundingBox(38.705, 38.725, -9.145, -9.125));
+
+        assertEquals(List.of(
+                new GeoCells.Range(12870 * 36000 + 17085, 12870 * 36000 + 17087),
+                new GeoCells.Range(12871 * 36000 + 17085, 12871 * 36000 + 17087),
+                new GeoCells.Range(12872 * 36000 + 17085, 12872 * 36000 + 17087)), ranges);
+    }
+
+    @Test
+    void coverCollapsesFullWidthBoxesIntoOneRange() {
+        List<GeoCells.Range> ranges = GeoCells.cover(new BoundingBox(80, 90, -180, 180));
+
+        assertEquals(List.of(new GeoCells.Range(17000 * 36000, 18000 * 36000 + 35999)), ranges);
+    }
+
+    @Test
+    void coverGivesUpOnTallBoxes() {
+        assertEquals(List.of(), GeoCells.cover(new BoundingBox(38, 39, -9.2, -9.1)));
+    }
+}
@@ -0,0 +1,82 @@
+package pt.iade.ei.thinktoilet.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoUtilsTest {
+    private static final double DELTA = 1e-9;
+
+    private static void assertContainsCircle(double lat, double lon, double radiusKm) {
+        BoundingBox box = GeoUtils.boundingBox(lat, lon, radiusKm);
+        double angle = radiusKm / GeoUtils.EARTH_RADIUS_KM;
+        for (int i = 0; i < 360; i++) {
+            double bearing = Math.toRadians(i);
+            double lat1 = Math.toRadians(lat);
+            double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angle) + Math.cos(lat1) * Math.sin(angle) * Math.cos(bearing));
+            double lon2 = Math.toRadians(lon) + Math.atan2(Math.sin(bearing) * Math.sin(angle) * Math.cos(lat1),
+                    Math.cos(angle) - Math.sin(lat1) * Math.sin(lat2));
+            double pointLat = Math.toDegrees(lat2);
+            double pointLon = ((Math.toDegrees(lon2) + 540) % 360) - 180;
+            assertTrue(pointLat >= box.minLat() - DELTA && pointLat <= box.maxLat() + DELTA
+                            && pointLon >= box.minLon() - DELTA && pointLon <= box.maxLon() + DELTA,
+                    () -> box + " misses " + pointLat + "," + pointLon + " at " + radiusKm + " km from " + lat + "," + lon);
+        }
+    }
+
+    @Test
+    void boundingBoxContainsTheWholeCircle() {
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            assertContainsCircle(random.nextDouble() * 170 - 85, random.nextDouble() * 360 - 180, 0.1 + random.nextDouble() * 500);
+        }
+    }
+
+    @Test
+    void boundingBoxIsTightAwayFromPolesAndAntimeridian() {
+        BoundingBox box = GeoUtils.boundingBox(0, 0, 111.19492664455873);
+
+        assertEquals(-1, box.minLat(), 1e-6);
+        assertEquals(1, box.maxLat(), 1e-6);
+        assertEquals(-1, box.minLon(), 1e-6);
+        assertEquals(1, box.maxLon(), 1e-6);
+    }
+
+    @Test
+    void boundingBoxSpansAllLongitudesWhenItReachesAPole() {
+        BoundingBox north = GeoUtils.boundingBox(89.9, 10, 50);
+        BoundingBox south = GeoUtils.boundingBox(-89.95, -120, 20);
+
+        assertEquals(90, north.maxLat(), DELTA);
+        assertEquals(-180, north.minLon(), DELTA);
+        assertEquals(180, north.maxLon(), DELTA);
+        assertEquals(-90, south.minLat(), DELTA);
+        assertEquals(-180, south.minLon(), DELTA);
+        assertEquals(180, south.maxLon(), DELTA);
+        assertContainsCircle(89.9, 10, 50);
+        assertContainsCircle(-89.95, -120, 20);
+    }
+
+    @Test
+    void boundingBoxSpansAllLongitudesWhenItCrossesTheAntimeridian() {
+        BoundingBox east = GeoUtils.boundingBox(-17, 179.95, 20);
+        BoundingBox west = GeoUtils.boundingBox(65, -179.9, 30);
+
+        assertEquals(-180, east.minLon(), DELTA);
+        assertEquals(180, east.maxLon(), DELTA);
+        assertEquals(-180, west.minLon(), DELTA);
+        assertEquals(180, west.maxLon(), DELTA);
+        assertTrue(east.contains(-17, -179.95));
+        assertTrue(west.contains(65, 179.9));
+    }
+
+    @Test
+    void distanceKmIsSymmetricAndZeroAtTheSamePoint() {
+        assertEquals(0, GeoUtils.distanceKm(38.7, -9.1, 38.7, -9.1), DELTA);
+        assertEquals(GeoUtils.distanceKm(38.7, -9.1, 41.15, -8.6), GeoUtils.distanceKm(41.15, -8.6, 38.7, -9.1), DELTA);
+        assertEquals(Math.PI * GeoUtils.EARTH_RADIUS_KM, GeoUtils.distanceKm(0, 0, 0, 180), 1e-6);
+    }
+}
@@ -0,0 +1,132 @@
+SET @seed_toilets = (SELECT MAX(toil_id) FROM toilet);
+SET @seed_interactions = (SELECT MAX(int_id) FROM interaction);
+
+INSERT INTO
+    user (user_name, user_email, user_pwd, user_points, user_iconid, user_bdate, user_cdate)
+SELECT
+    CONCAT('Utilizador ', s.seq),
+    CONCAT('loadtest.', s.seq, '@thinktoilet.pt'),
+    (SELECT u.user_pwd FROM user u WHERE u.user_id = 1),
+    FLOOR(RAND() * 500),
+    CONCAT('icon_', 1 + s.seq MOD 8),
+    NULL,
+    CURDATE() - INTERVAL FLOOR(RAND() * 730) DAY
+FROM
+    seq_1_to_${users} s;
+
+INSERT INTO
+    toilet (toil_city_id, toil_acs_id, toil_state_id, toil_name, toil_lat, toil_long, toil_address, toil_placeid,
+            toil_cdate)
+SELECT
+    g.city_id,
+    1 + g.seq MOD 3,
+    IF(g.seq MOD 25 = 0, 3, 1),
+    CONCAT(ELT(1 + g.seq MOD 8, 'Restaurante', 'Café', 'Centro Comercial', 'Estação', 'Jardim', 'Museu', 'Mercado', 'Posto'), ' ', g.seq),
+    ELT(g.city_id, 38.7223, 38.7928, 38.8308, 41.1579, 41.5454, 40.2033) + (RAND() - 0.5) * 0.3,
+    ELT(g.city_id, -9.1393, -9.1838, -9.1685, -8.6291, -8.4265, -8.4103) + (RAND() - 0.5) * 0.4,
+    CONCAT('Rua de Teste ', g.seq),
+    NULL,
+    CURDATE() - INTERVAL FLOOR(RAND() * 730) DAY
+FROM
+    (SELECT s.seq, 1 + s.seq MOD 6 AS city_id FROM seq_1_to_${toilets} s) g;
+
+SET @users = (SELECT MAX(user_id) FROM user);
+SET @toilets = (SELECT MAX(toil_id) FROM toilet);
+
+CREATE TEMPORARY TABLE
+    scale_extra_toilet AS
+SELECT
+    t.toil_id
+FROM
+    toilet t
+WHERE
+    t.toil_id > @seed_toilets
+    AND t.toil_id MOD 3 = 0;
+
+INSERT INTO
+    extra (extra_toil_id, extra_tex_id)
+SELECT
+    t.toil_id,
+    1 + t.toil_id MOD 4
+FROM
+    scale_extra_toilet t;
+
+DROP TEMPORARY TABLE scale_extra_toilet;
+
+INSERT IGNORE INTO
+    interaction (int_user_id, int_toil_id)
+SELECT
+    1 + FLOOR(RAND() * @users),
+    1 + FLOOR(POW(RAND(), 2) * @toilets)
+FROM
+    seq_1_to_${comments} s;
+
+INSERT INTO
+    comment (cmm_int_id, cmm_text, cmm_rclean, cmm_rpaper, cmm_rstructure, cmm_raccessibility, cmm_cdatetime, cmm_score)
+SELECT
+    i.int_id,
+    ELT(1 + i.int_id MOD 6,
+        'Muito limpo e bem cuidado.',
+        'Faltou papel higiênico e sabão líquido.',
+        'Ambiente limpo, mas a ventilação é ruim.',
+        'Banheiro desorganizado e sujo.',
+        'Espaço limpo e com boa iluminação.',
+        'Fila grande, mas valeu a pena.'),
+    1 + FLOOR(RAND() * 5),
+    RAND() < 0.7,
+    1 + FLOOR(RAND() * 5),
+    1 + FLOOR(RAND() * 5),
+    NOW() - INTERVAL FLOOR(RAND() * 525600) MINUTE,
+    0
+FROM
+    interaction i
+WHERE
+    i.int_id > @seed_interactions;
+
+SET @comments = (SELECT MAX(cmm_id) FROM comment);
+
+INSERT IGNORE INTO
+    reaction (react_user_id, react_cmm_id, react_trc_id, react_cdate)
+SELECT
+    1 + FLOOR(RAND() * @users),
+    1 + FLOOR(RAND() * @comments),
+    IF(RAND() < 0.7, 1, 2),
+    CURDATE()
+FROM
+    seq_1_to_${reactions} s;
+
+UPDATE
+    comment c
+    INNER JOIN (
+        SELECT
+            r.react_cmm_id,
+            SUM(r.react_trc_id = 1) AS likes,
+            SUM(r.react_trc_id = 2) AS dislikes
+        FROM
+            reaction r
+        GROUP BY
+            r.react_cmm_id
+    ) r ON r.react_cmm_id = c.cmm_id
+SET
+    c.cmm_likes = r.likes,
+    c.cmm_dislikes = r.dislikes;
+
+DELETE FROM toiletstats;
+
+INSERT INTO
+    toiletstats (tst_toil_id, tst_comments, tst_sum_clean, tst_sum_structure, tst_sum_accessibility, tst_paper)
+SELECT
+    t.toil_id,
+    COUNT(c.cmm_id),
+    COALESCE(SUM(c.cmm_rclean), 0),
+    COALESCE(SUM(c.cmm_rstructure), 0),
+    COALESCE(SUM(c.cmm_raccessibility), 0),
+    COALESCE(SUM(c.cmm_rpaper), 0)
+FROM
+    toilet t
+    LEFT JOIN interaction i ON t.toil_id = i.int_toil_id
+    LEFT JOIN comment c ON i.int_id = c.cmm_int_id
+GROUP BY
+    t.toil_id;
+
+ANALYZE TABLE user, toilet, interaction, comment, reaction, toiletstats, extra;
@@ -25,9 +25,15 @@ CREATE TABLE
 		toil_address VARCHAR(255) NOT NULL,
 		toil_placeid VARCHAR(255),
 		toil_cdate DATE NOT NULL,
+		toil_version INT NOT NULL DEFAULT 0,
+		toil_cell INT AS (FLOOR((toil_lat + 90) * 100) * 36000 + FLOOR((toil_long + 180) * 100)) PERSISTENT,
+		toil_location POINT NOT NULL DEFAULT (POINT(toil_long, toil_lat)),
 		PRIMARY KEY (toil_id),
 		UNIQUE (toil_placeid),
-		FULLTEXT (toil_name, toil_address)
+		FULLTEXT (toil_name, toil_address),
+		INDEX (toil_lat, toil_long),
+		INDEX (toil_state_id, toil_cell),
+		SPATIAL INDEX (toil_location)
 	);
 
 CREATE TABLE
@@ -118,6 +124,8 @@ CREATE TABLE
 	comment (
 		cmm_id INT NOT NULL AUTO_INCREMENT,
 		cmm_int_id INT NOT NULL,
+		cmm_toil_id INT NOT NULL DEFAULT 0,
+		cmm_user_id INT NOT NULL DEFAULT 0,
 		cmm_text VARCHAR(280) NOT NULL,
 		cmm_rclean INT NOT NULL,
 		cmm_rpaper BOOLEAN NOT NULL,
@@ -125,7 +133,11 @@ CREATE TABLE
 		cmm_raccessibility INT NOT NULL,
 		cmm_cdatetime DATETIME NOT NULL,
 		cmm_score INT NOT NULL,
-		PRIMARY KEY (cmm_id)
+		cmm_likes INT NOT NULL DEFAULT 0,
+		cmm_dislikes INT NOT NULL DEFAULT 0,
+		PRIMARY KEY (cmm_id),
+		INDEX (cmm_toil_id, cmm_cdatetime, cmm_id),
+		INDEX (cmm_user_id, cmm_cdatetime, cmm_id)
 	);
 
 CREATE TABLE
@@ -139,6 +151,17 @@ CREATE TABLE
 		UNIQUE (react_user_id, react_cmm_id)
 	);
 
+CREATE TABLE
+	toiletstats (
+		tst_toil_id INT NOT NULL,
+		tst_comments INT NOT NULL DEFAULT 0,
+		tst_sum_clean INT NOT NULL DEFAULT 0,
+		tst_sum_structure INT NOT NULL DEFAULT 0,
+		tst_sum_accessibility INT NOT NULL DEFAULT 0,
+		tst_paper INT NOT NULL DEFAULT 0,
+		PRIMARY KEY (tst_toil_id)
+	);
+
 -- Foreign Keys
 ALTER TABLE toilet ADD CONSTRAINT toil_fk_city FOREIGN KEY (toil_city_id) REFERENCES city (city_id) ON DELETE NO ACTION ON UPDATE NO ACTION;
 
@@ -168,6 +191,33 @@ ALTER TABLE reaction ADD CONSTRAINT reaction_fk_comment FOREIGN KEY (react_cmm_i
 
 ALTER TABLE reaction ADD CONSTRAINT reaction_fk_typereaction FOREIGN KEY (react_trc_id) REFERENCES typereaction (trc_id) ON DELETE NO ACTION ON UPDATE NO ACTION;
 
+ALTER TABLE toiletstats ADD CONSTRAINT toiletstats_fk_toilet FOREIGN KEY (tst_toil_id) REFERENCES toilet (toil_id) ON DELETE CASCADE ON UPDATE NO ACTION;
+
+-- Triggers
+CREATE TRIGGER toil_location_insert BEFORE INSERT ON toilet FOR EACH ROW SET NEW.toil_location = POINT(NEW.toil_long, NEW.toil_lat);
+
+CREATE TRIGGER toil_location_update BEFORE UPDATE ON toilet FOR EACH ROW SET NEW.toil_location = POINT(NEW.toil_long, NEW.toil_lat);
+
+CREATE TRIGGER toil_version_update BEFORE UPDATE ON toilet FOR EACH ROW SET NEW.toil_version = GREATEST(NEW.toil_version, OLD.toil_version + 1);
+
+CREATE TRIGGER cmm_interaction_insert BEFORE INSERT ON comment FOR EACH ROW SET NEW.cmm_toil_id = (SELECT int_toil_id FROM interaction WHERE int_id = NEW.cmm_int_id), NEW.cmm_user_id = (SELECT int_user_id FROM interaction WHERE int_id = NEW.cmm_int_id);
+
+CREATE TRIGGER extra_version_insert AFTER INSERT ON extra FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = NEW.extra_toil_id;
+
+CREATE TRIGGER extra_version_update AFTER UPDATE ON extra FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id IN (OLD.extra_toil_id, NEW.extra_toil_id);
+
+CREATE TRIGGER extra_version_delete AFTER DELETE ON extra FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = OLD.extra_toil_id;
+
+CREATE TRIGGER int_version_update AFTER UPDATE ON interaction FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id IN (OLD.int_toil_id, NEW.int_toil_id);
+
+CREATE TRIGGER int_version_delete AFTER DELETE ON interaction FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = OLD.int_toil_id;
+
+CREATE TRIGGER cmm_version_insert AFTER INSERT ON comment FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = NEW.cmm_toil_id;
+
+CREATE TRIGGER cmm_version_update AFTER UPDATE ON comment FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id IN (OLD.cmm_toil_id, NEW.cmm_toil_id) AND (NEW.cmm_int_id <> OLD.cmm_int_id OR NEW.cmm_rclean <> OLD.cmm_rclean OR NEW.cmm_rpaper <> OLD.cmm_rpaper OR NEW.cmm_rstructure <> OLD.cmm_rstructure OR NEW.cmm_raccessibility <> OLD.cmm_raccessibility);
+
+CREATE TRIGGER cmm_version_delete AFTER DELETE ON comment FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = OLD.cmm_toil_id;
+
 -- Views
 CREATE VIEW
 	vw_comment_reaction AS
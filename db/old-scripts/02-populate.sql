@@ -547,4 +547,26 @@ VALUES
     (10, 12, 2, CURDATE()),
     (11, 12, 1, CURDATE()),
     (13, 12, 1, CURDATE()),
-    (14, 12, 2, CURDATE());
\ No newline at end of file
+    (14, 12, 2, CURDATE());
+
+UPDATE
+    comment c
+SET
+    c.cmm_likes = (SELECT COUNT(*) FROM reaction r WHERE r.react_cmm_id = c.cmm_id AND r.react_trc_id = 1),
+    c.cmm_dislikes = (SELECT COUNT(*) FROM reaction r WHERE r.react_cmm_id = c.cmm_id AND r.react_trc_id = 2);
+
+INSERT INTO
+    toiletstats (tst_toil_id, tst_comments, tst_sum_clean, tst_sum_structure, tst_sum_accessibility, tst_paper)
+SELECT
+    t.toil_id,
+    COUNT(c.cmm_id),
+    COALESCE(SUM(c.cmm_rclean), 0),
+    COALESCE(SUM(c.cmm_rstructure), 0),
+    COALESCE(SUM(c.cmm_raccessibility), 0),
+    COALESCE(SUM(c.cmm_rpaper), 0)
+FROM
+    toilet t
+    LEFT JOIN interaction i ON t.toil_id = i.int_toil_id
+    LEFT JOIN comment c ON i.int_id = c.cmm_int_id
+GROUP BY
+    t.toil_id;
\ No newline at end of file
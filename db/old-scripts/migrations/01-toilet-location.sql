@@ -0,0 +1,11 @@
+ALTER TABLE toilet ADD COLUMN toil_location POINT NULL;
+
+UPDATE toilet SET toil_location = POINT(toil_long, toil_lat);
+
+ALTER TABLE toilet MODIFY COLUMN toil_location POINT NOT NULL DEFAULT (POINT(toil_long, toil_lat)), ADD SPATIAL INDEX (toil_location);
+
+CREATE TRIGGER toil_location_insert BEFORE INSERT ON toilet FOR EACH ROW SET NEW.toil_location = POINT(NEW.toil_long, NEW.toil_lat);
+
+CREATE TRIGGER toil_location_update BEFORE UPDATE ON toilet FOR EACH ROW SET NEW.toil_location = POINT(NEW.toil_long, NEW.toil_lat);
+
+CREATE INDEX IF NOT EXISTS toil_lat ON toilet (toil_lat, toil_long);
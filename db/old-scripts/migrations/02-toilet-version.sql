@@ -0,0 +1,3 @@
+ALTER TABLE toilet ADD COLUMN toil_version INT NOT NULL DEFAULT 0;
+
+CREATE TRIGGER toil_version_update BEFORE UPDATE ON toilet FOR EACH ROW SET NEW.toil_version = IF(NEW.toil_version = OLD.toil_version, OLD.toil_version + 1, NEW.toil_version);
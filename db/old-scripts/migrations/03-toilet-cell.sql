@@ -0,0 +1 @@
+ALTER TABLE toilet ADD COLUMN toil_cell INT AS (FLOOR((toil_lat + 90) * 100) * 36000 + FLOOR((toil_long + 180) * 100)) PERSISTENT, ADD INDEX (toil_state_id, toil_cell);
@@ -0,0 +1,7 @@
+ALTER TABLE comment ADD COLUMN cmm_toil_id INT NOT NULL DEFAULT 0 AFTER cmm_int_id, ADD COLUMN cmm_user_id INT NOT NULL DEFAULT 0 AFTER cmm_toil_id;
+
+UPDATE comment c INNER JOIN interaction i ON i.int_id = c.cmm_int_id SET c.cmm_toil_id = i.int_toil_id, c.cmm_user_id = i.int_user_id;
+
+ALTER TABLE comment ADD INDEX (cmm_toil_id, cmm_cdatetime, cmm_id), ADD INDEX (cmm_user_id, cmm_cdatetime, cmm_id);
+
+CREATE TRIGGER cmm_interaction_insert BEFORE INSERT ON comment FOR EACH ROW SET NEW.cmm_toil_id = (SELECT int_toil_id FROM interaction WHERE int_id = NEW.cmm_int_id), NEW.cmm_user_id = (SELECT int_user_id FROM interaction WHERE int_id = NEW.cmm_int_id);
@@ -0,0 +1,5 @@
+CREATE TABLE toiletstats (tst_toil_id INT NOT NULL, tst_comments INT NOT NULL DEFAULT 0, tst_sum_clean INT NOT NULL DEFAULT 0, tst_sum_structure INT NOT NULL DEFAULT 0, tst_sum_accessibility INT NOT NULL DEFAULT 0, tst_paper INT NOT NULL DEFAULT 0, PRIMARY KEY (tst_toil_id));
+
+INSERT INTO toiletstats (tst_toil_id, tst_comments, tst_sum_clean, tst_sum_structure, tst_sum_accessibility, tst_paper) SELECT t.toil_id, COUNT(c.cmm_id), COALESCE(SUM(c.cmm_rclean), 0), COALESCE(SUM(c.cmm_rstructure), 0), COALESCE(SUM(c.cmm_raccessibility), 0), COALESCE(SUM(c.cmm_rpaper), 0) FROM toilet t LEFT JOIN interaction i ON t.toil_id = i.int_toil_id LEFT JOIN comment c ON i.int_id = c.cmm_int_id GROUP BY t.toil_id;
+
+ALTER TABLE toiletstats ADD CONSTRAINT toiletstats_fk_toilet FOREIGN KEY (tst_toil_id) REFERENCES toilet (toil_id) ON DELETE CASCADE ON UPDATE NO ACTION;
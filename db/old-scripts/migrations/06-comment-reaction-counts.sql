@@ -0,0 +1,3 @@
+ALTER TABLE comment ADD COLUMN cmm_likes INT NOT NULL DEFAULT 0, ADD COLUMN cmm_dislikes INT NOT NULL DEFAULT 0;
+
+UPDATE comment c SET c.cmm_likes = (SELECT COUNT(*) FROM reaction r INNER JOIN typereaction t ON t.trc_id = r.react_trc_id WHERE r.react_cmm_id = c.cmm_id AND t.trc_technical_name = 'like'), c.cmm_dislikes = (SELECT COUNT(*) FROM reaction r INNER JOIN typereaction t ON t.trc_id = r.react_trc_id WHERE r.react_cmm_id = c.cmm_id AND t.trc_technical_name = 'dislike');
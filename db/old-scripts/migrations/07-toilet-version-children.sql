@@ -0,0 +1,19 @@
+DROP TRIGGER IF EXISTS toil_version_update;
+
+CREATE TRIGGER toil_version_update BEFORE UPDATE ON toilet FOR EACH ROW SET NEW.toil_version = GREATEST(NEW.toil_version, OLD.toil_version + 1);
+
+CREATE TRIGGER extra_version_insert AFTER INSERT ON extra FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = NEW.extra_toil_id;
+
+CREATE TRIGGER extra_version_update AFTER UPDATE ON extra FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id IN (OLD.extra_toil_id, NEW.extra_toil_id);
+
+CREATE TRIGGER extra_version_delete AFTER DELETE ON extra FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = OLD.extra_toil_id;
+
+CREATE TRIGGER int_version_update AFTER UPDATE ON interaction FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id IN (OLD.int_toil_id, NEW.int_toil_id);
+
+CREATE TRIGGER int_version_delete AFTER DELETE ON interaction FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = OLD.int_toil_id;
+
+CREATE TRIGGER cmm_version_insert AFTER INSERT ON comment FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = NEW.cmm_toil_id;
+
+CREATE TRIGGER cmm_version_update AFTER UPDATE ON comment FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id IN (OLD.cmm_toil_id, NEW.cmm_toil_id) AND (NEW.cmm_int_id <> OLD.cmm_int_id OR NEW.cmm_rclean <> OLD.cmm_rclean OR NEW.cmm_rpaper <> OLD.cmm_rpaper OR NEW.cmm_rstructure <> OLD.cmm_rstructure OR NEW.cmm_raccessibility <> OLD.cmm_raccessibility);
+
+CREATE TRIGGER cmm_version_delete AFTER DELETE ON comment FOR EACH ROW UPDATE toilet SET toil_version = toil_version + 1 WHERE toil_id = OLD.cmm_toil_id;